@@ -0,0 +1,271 @@
+package com.demoblaze.api;
+
+import com.demoblaze.data.TestData;
+import com.demoblaze.utils.ConfigReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test accounts leased exclusively to one worker thread at a time, so parallel tests
+ * never share a logged-in cart. The pool holds account.pool.size accounts named
+ * &lt;prefix&gt;-&lt;n&gt;; each is registered through /signup the first time it is leased.
+ * An existing account of the same name is only reused if /login accepts the pool password;
+ * otherwise the slot moves on to &lt;prefix&gt;-&lt;n&gt;-&lt;attempt&gt;. Every lease logs in
+ * and empties the account's cart, so a test never sees items left by an earlier run. A
+ * leased account is also locked in account.pool.lock.dir, so JVMs running concurrently
+ * (surefire forks) with the same prefix skip accounts another JVM holds. With a pool size
+ * of 0 (the default) every worker gets the shared account from {@link TestData.Credentials}.
+ */
+public final class AccountPool {
+    private static final Logger logger = LogManager.getLogger(AccountPool.class);
+    private static final String USER_EXISTS = "This user already exist.";
+    private static final long LOCKED_RETRY_MILLIS = 200;
+    private static final int MAX_RENAMES = 5;
+    private static AccountPool instance;
+
+    private final BlockingQueue<Account> available = new LinkedBlockingQueue<>();
+    // Slots whose current username is known to accept the pool password
+    private final Set<String> provisioned = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Account> leased = new ThreadLocal<>();
+    private final int size;
+    private final long leaseTimeoutSeconds;
+    private final Path lockDir;
+
+    /**
+     * Storefront credentials
+     */
+    public static final class Account {
+        // Pool position; the lock file is named after it, whatever name the slot ends up using
+        private final String slot;
+        private final String password;
+        private volatile String username;
+        // Held while leased; closing it releases the cross-process lock
+        private FileChannel lock;
+
+        Account(String username, String password) {
+            this.slot = username;
+            this.username = username;
+            this.password = password;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+    }
+
+    private AccountPool(ConfigReader config) {
+        size = Math.max(0, config.getAccountPoolSize());
+        leaseTimeoutSeconds = config.getAccountPoolLeaseTimeoutSeconds();
+        lockDir = Paths.get(config.getAccountPoolLockDir());
+        String prefix = config.getAccountPoolPrefix();
+        if (prefix.isEmpty()) {
+            prefix = defaultPrefix();
+        }
+        for (int i = 1; i <= size; i++) {
+            available.add(new Account(prefix + "-" + i, config.getAccountPoolPassword()));
+        }
+    }
+
+    public static synchronized AccountPool getInstance() {
+        if (instance == null) {
+            instance = new AccountPool(ConfigReader.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Lease an account for the current thread; a thread that already holds one gets it again
+     * @return account exclusive to this thread until {@link #release()}
+     * @throws IllegalStateException if no account frees up within account.pool.lease.timeout.seconds
+     */
+    public Account lease() {
+        if (size == 0) {
+            return new Account(TestData.Credentials.VALID_USERNAME, TestData.Credentials.VALID_PASSWORD);
+        }
+        Account account = leased.get();
+        if (account != null) {
+            return account;
+        }
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(leaseTimeoutSeconds);
+        try {
+            while (account == null) {
+                long remaining = deadline - System.currentTimeMillis();
+                Account candidate = remaining > 0 ? available.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                if (candidate == null) {
+                    throw new IllegalStateException("No test account free after " + leaseTimeoutSeconds
+                            + "s; raise account.pool.size to at least the number of parallel workers");
+                }
+                if (lockAcrossProcesses(candidate)) {
+                    account = candidate;
+                } else {
+                    // Another JVM holds it; try the next one
+                    available.add(candidate);
+                    Thread.sleep(LOCKED_RETRY_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a test account", e);
+        }
+
+        try {
+            clearCart(account, signIn(account));
+        } catch (RuntimeException e) {
+            unlock(account);
+            available.add(account);
+            throw e;
+        }
+        leased.set(account);
+        logger.info("Leased test account {} to {}", account.getUsername(), Thread.currentThread().getName());
+        return account;
+    }
+
+    /**
+     * Return the current thread's account to the pool
+     */
+    public void release() {
+        Account account = leased.get();
+        if (account == null) {
+            return;
+        }
+        leased.remove();
+        unlock(account);
+        available.add(account);
+        logger.info("Released test account {}", account.getUsername());
+    }
+
+    private boolean lockAcrossProcesses(Account account) {
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(lockDir);
+            channel = FileChannel.open(lockDir.resolve(account.slot + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                channel.close();
+                return false;
+            }
+            account.lock = channel;
+            return true;
+        } catch (IOException e) {
+            logger.warn("Could not lock test account {} against other JVMs: {}", account.getUsername(), e.getMessage());
+            if (channel != null) {
+                unlock(channel);
+            }
+            return true;
+        }
+    }
+
+    private static void unlock(Account account) {
+        if (account.lock != null) {
+            unlock(account.lock);
+            account.lock = null;
+        }
+    }
+
+    private static void unlock(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Could not release account lock: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Log in to the slot's account, signing it up first if needed. A name that already
+     * exists but rejects the pool password belongs to someone else, so the slot moves on
+     * to the next name rather than running tests against an account it cannot use.
+     * @return auth token of the account
+     */
+    private String signIn(Account account) {
+        if (provisioned.contains(account.slot)) {
+            String token = login(account.getUsername(), account.getPassword());
+            if (token != null) {
+                return token;
+            }
+            provisioned.remove(account.slot);
+        }
+
+        for (int attempt = 0; attempt <= MAX_RENAMES; attempt++) {
+            String username = attempt == 0 ? account.slot : account.slot + "-" + (attempt + 1);
+            JsonNode response = client().signup(username, account.getPassword()).join();
+            String error = response.path("errorMessage").asText("");
+            if (!error.isEmpty() && !USER_EXISTS.equals(error)) {
+                throw new IllegalStateException("Could not sign up test account " + username + ": " + error);
+            }
+            String token = login(username, account.getPassword());
+            if (token != null) {
+                logger.info("Test account {} {}", username, error.isEmpty() ? "signed up" : "already exists");
+                account.username = username;
+                provisioned.add(account.slot);
+                return token;
+            }
+            logger.warn("Test account {} exists but rejects the pool password; trying another name", username);
+        }
+        throw new IllegalStateException("No usable test account name for " + account.slot + " after "
+                + (MAX_RENAMES + 1) + " attempts; set account.pool.prefix to a prefix of your own");
+    }
+
+    private String login(String username, String password) {
+        return StorefrontClient.authToken(client().login(username, password).join());
+    }
+
+    // Per call, so the API URL follows the cassette proxy once it has started
+    private static StorefrontClient client() {
+        return new StorefrontClient();
+    }
+
+    // Logged-in carts live on the server, so a previous run's leftovers would leak into this lease
+    private void clearCart(Account account, String token) {
+        JsonNode response = client().deleteCart(token).join();
+        String error = response.path("errorMessage").asText("");
+        if (!error.isEmpty()) {
+            throw new IllegalStateException("Could not empty the cart of test account " + account.getUsername() + ": " + error);
+        }
+    }
+
+    // Stable per machine, so reruns reuse the accounts signed up before
+    private static String defaultPrefix() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "localhost";
+        }
+        String owner = System.getProperty("user.name", "") + "@" + host;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(owner.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder("dmzqa");
+            // 64 bits, so owners on other machines practically never pick the same names
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.demoblaze.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Immutable product catalog, loaded once per JVM from the storefront's /bycat API
+ * (one concurrent request per category). It maps exact product titles to id, category,
+ * price and product page URL, so page objects can open a product by URL instead of
+ * scanning listing cards.
+ * Entries are kept in parallel arrays sorted by title and looked up by binary search;
+ * {@link Product} views are created on demand.
+ */
+public final class CatalogIndex {
+    private static final Logger logger = LogManager.getLogger(CatalogIndex.class);
+    private static final Category[] CATEGORIES = Category.values();
+    private static CatalogIndex instance;
+
+    private final String[] names;
+    private final int[] ids;
+    private final byte[] categories;
+    private final int[] priceCents;
+
+    /**
+     * Storefront categories with their UI label and API name
+     */
+    public enum Category {
+        PHONES("Phones", "phone"),
+        LAPTOPS("Laptops", "notebook"),
+        MONITORS("Monitors", "monitor");
+
+        private final String displayName;
+        private final String apiName;
+
+        Category(String displayName, String apiName) {
+            this.displayName = displayName;
+            this.apiName = apiName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public String getApiName() {
+            return apiName;
+        }
+
+        /**
+         * @param displayName category as shown in the sidebar, case-insensitive
+         * @return matching category
+         */
+        public static Category fromDisplayName(String displayName) {
+            for (Category category : values()) {
+                if (category.displayName.equalsIgnoreCase(displayName.trim())) {
+                    return category;
+                }
+            }
+            throw new IllegalArgumentException("Category not supported: " + displayName);
+        }
+    }
+
+    /**
+     * One catalog entry
+     */
+    public static final class Product {
+        private final int id;
+        private final String name;
+        private final Category category;
+        private final int priceCents;
+
+        private Product(int id, String name, Category category, int priceCents) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.priceCents = priceCents;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public double getPrice() {
+            return priceCents / 100.0;
+        }
+
+        /**
+         * @return product page path relative to the storefront base URL
+         */
+        public String getUrlPath() {
+            return "prod.html?idp_=" + id;
+        }
+    }
+
+    private CatalogIndex(List<Product> products) {
+        products.sort(Comparator.comparing(Product::getName));
+        int size = products.size();
+        names = new String[size];
+        ids = new int[size];
+        categories = new byte[size];
+        priceCents = new int[size];
+        for (int i = 0; i < size; i++) {
+            Product product = products.get(i);
+            names[i] = product.name;
+            ids[i] = product.id;
+            categories[i] = (byte) product.category.ordinal();
+            priceCents[i] = product.priceCents;
+        }
+    }
+
+    public static synchronized CatalogIndex getInstance() {
+        if (instance == null) {
+            instance = load(new StorefrontClient());
+        }
+        return instance;
+    }
+
+    static CatalogIndex load(StorefrontClient client) {
+        Map<Category, CompletableFuture<JsonNode>> responses = new EnumMap<>(Category.class);
+        for (Category category : CATEGORIES) {
+            responses.put(category, client.byCategory(category.apiName));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (Map.Entry<Category, CompletableFuture<JsonNode>> response : responses.entrySet()) {
+            for (JsonNode item : response.getValue().join().path("Items")) {
+                products.add(new Product(
+                        item.path("id").asInt(),
+                        item.path("title").asText().trim(),
+                        response.getKey(),
+                        (int) Math.round(item.path("price").asDouble() * 100)));
+            }
+        }
+
+        logger.info("Catalog index loaded with {} products", products.size());
+        return new CatalogIndex(products);
+    }
+
+    /**
+     * Look up a product by its exact title
+     * @param productName product title as listed, e.g. "Samsung galaxy s6"
+     * @return product, or null if the catalog has no product with that title
+     */
+    public Product find(String productName) {
+        int index = Arrays.binarySearch(names, productName.trim());
+        if (index < 0) {
+            return null;
+        }
+        return new Product(ids[index], names[index], CATEGORIES[categories[index]], priceCents[index]);
+    }
+
+    /**
+     * Look up a product by its exact title
+     * @param productName product title as listed
+     * @return product
+     * @throws IllegalArgumentException if the catalog has no product with that title
+     */
+    public Product get(String productName) {
+        Product product = find(productName);
+        if (product == null) {
+            throw new IllegalArgumentException("Product not in catalog: " + productName);
+        }
+        return product;
+    }
+
+    public int idOf(String productName) {
+        return get(productName).getId();
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return all product titles, sorted
+     */
+    public List<String> names() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+}
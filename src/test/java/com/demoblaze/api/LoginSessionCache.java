@@ -0,0 +1,141 @@
+package com.demoblaze.api;
+
+import com.demoblaze.utils.ConfigReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auth tokens per user, obtained once through the storefront /login API and reused by
+ * every session of this JVM (one test worker) until login.cache.ttl.minutes pass.
+ * Tokens older than login.cache.validate.seconds are re-checked with /check before
+ * they are handed out, so a token the server revoked is replaced instead of restored.
+ * Each user maps to the future of its login: threads asking for the same user share one
+ * request, and no API call ever runs while the map is locked.
+ */
+public final class LoginSessionCache {
+    private static final Logger logger = LogManager.getLogger(LoginSessionCache.class);
+    private static final Map<String, CompletableFuture<CachedToken>> tokens = new ConcurrentHashMap<>();
+
+    private LoginSessionCache() {
+    }
+
+    private static final class CachedToken {
+        final String token;
+        final long obtainedAt;
+        final long checkedAt;
+
+        CachedToken(String token, long obtainedAt, long checkedAt) {
+            this.token = token;
+            this.obtainedAt = obtainedAt;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    /**
+     * Get a valid auth token for a user, logging in through the API if needed
+     * @param username user name
+     * @param password clear text password
+     * @return auth token, as stored by the site in the tokenp_ cookie
+     * @throws IllegalStateException if the storefront rejects the credentials
+     */
+    public static String token(String username, String password) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (!config.isLoginCacheEnabled()) {
+            return login(username, password);
+        }
+        long ttl = TimeUnit.MINUTES.toMillis(config.getLoginCacheTtlMinutes());
+        long validateAfter = TimeUnit.SECONDS.toMillis(config.getLoginCacheValidateSeconds());
+
+        while (true) {
+            // Only starts the request; the mapping function must not block
+            CompletableFuture<CachedToken> entry = tokens.computeIfAbsent(username, user -> loginAsync(user, password));
+            CachedToken cached;
+            try {
+                cached = entry.join();
+            } catch (CompletionException e) {
+                tokens.remove(username, entry);
+                throw unwrap(e);
+            }
+
+            long now = System.currentTimeMillis();
+            boolean expired = now - cached.obtainedAt >= ttl;
+            if (!expired && now - cached.checkedAt < validateAfter) {
+                return cached.token;
+            }
+
+            // Whoever swaps in the refresh renews the token; the others wait for its result
+            CompletableFuture<CachedToken> refresh = new CompletableFuture<>();
+            if (!tokens.replace(username, entry, refresh)) {
+                continue;
+            }
+            try {
+                CachedToken fresh;
+                if (!expired && isValid(username, cached.token)) {
+                    fresh = new CachedToken(cached.token, cached.obtainedAt, now);
+                } else {
+                    logger.info("Cached token for {} is {}", username, expired ? "expired" : "no longer valid");
+                    fresh = join(loginAsync(username, password));
+                }
+                refresh.complete(fresh);
+                return fresh.token;
+            } catch (RuntimeException e) {
+                tokens.remove(username, refresh);
+                refresh.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Drop a user's token, e.g. after restoring it did not log the session in
+     * @param username user name
+     */
+    public static void invalidate(String username) {
+        tokens.remove(username);
+    }
+
+    private static String login(String username, String password) {
+        return join(loginAsync(username, password)).token;
+    }
+
+    private static CompletableFuture<CachedToken> loginAsync(String username, String password) {
+        return client().login(username, password).thenApply(response -> {
+            String token = StorefrontClient.authToken(response);
+            if (token == null) {
+                throw new IllegalStateException("Login rejected for " + username + ": " + response);
+            }
+            logger.info("Obtained auth token for {}", username);
+            long now = System.currentTimeMillis();
+            return new CachedToken(token, now, now);
+        });
+    }
+
+    private static boolean isValid(String username, String token) {
+        JsonNode response = client().check(token).join();
+        return username.equals(response.path("Item").path("username").asText());
+    }
+
+    // Per call, so the API URL follows the cassette proxy once it has started
+    private static StorefrontClient client() {
+        return new StorefrontClient();
+    }
+
+    private static CachedToken join(CompletableFuture<CachedToken> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+}
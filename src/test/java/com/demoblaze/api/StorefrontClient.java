@@ -0,0 +1,219 @@
+package com.demoblaze.api;
+
+import com.demoblaze.utils.CassetteProxy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Asynchronous client for the Demoblaze storefront API (api.demoblaze.com).
+ * All instances share one HttpClient, so connections are pooled across tests
+ * and requests can be issued concurrently.
+ */
+public class StorefrontClient {
+    private static final Logger logger = LogManager.getLogger(StorefrontClient.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String DEFAULT_API_URL = "https://api.demoblaze.com";
+    private static final String TOKEN_PREFIX = "Auth_token: ";
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "storefront-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(executor)
+            .build();
+
+    private final String apiUrl;
+
+    /**
+     * Client for the public storefront API, or for the cassette proxy's API route
+     * when record/replay is active
+     */
+    public StorefrontClient() {
+        this(CassetteProxy.resolveApi(DEFAULT_API_URL));
+    }
+
+    public StorefrontClient(String apiUrl) {
+        this.apiUrl = apiUrl.replaceAll("/+$", "");
+    }
+
+    /**
+     * First page of all catalog entries
+     * @return response with "Items" and "LastEvaluatedKey"
+     */
+    public CompletableFuture<JsonNode> entries() {
+        return send(HttpRequest.newBuilder(URI.create(apiUrl + "/entries")).GET());
+    }
+
+    /**
+     * Next page of catalog entries
+     * @param lastId id returned in LastEvaluatedKey of the previous page
+     * @return response with "Items"
+     */
+    public CompletableFuture<JsonNode> pagination(String lastId) {
+        return post("/pagination", object().put("id", lastId));
+    }
+
+    /**
+     * Catalog entries of one category
+     * @param category API category name: phone, notebook or monitor
+     * @return response with "Items"
+     */
+    public CompletableFuture<JsonNode> byCategory(String category) {
+        return post("/bycat", object().put("cat", category));
+    }
+
+    /**
+     * Product details
+     * @param productId product id
+     * @return product entry with title, price, desc, cat
+     */
+    public CompletableFuture<JsonNode> view(int productId) {
+        return post("/view", object().put("id", String.valueOf(productId)));
+    }
+
+    /**
+     * Log in the same way the site's login modal does
+     * @param username user name
+     * @param password clear text password (sent base64 encoded, like the site)
+     * @return auth token, or an errorMessage object if the login was rejected
+     */
+    public CompletableFuture<JsonNode> login(String username, String password) {
+        return post("/login", object()
+                .put("username", username)
+                .put("password", encodePassword(password)));
+    }
+
+    /**
+     * Extract the auth token from a /login response
+     * @param response response of {@link #login}
+     * @return auth token, or null if the response is not a token (e.g. an errorMessage)
+     */
+    public static String authToken(JsonNode response) {
+        String text = response.asText();
+        return text.startsWith(TOKEN_PREFIX) ? text.substring(TOKEN_PREFIX.length()) : null;
+    }
+
+    /**
+     * Check an auth token, as the site does on every page load
+     * @param token auth token
+     * @return response with "Item" holding the token's username, or an errorMessage object
+     */
+    public CompletableFuture<JsonNode> check(String token) {
+        return post("/check", object().put("token", token));
+    }
+
+    /**
+     * Register a new account
+     * @param username user name
+     * @param password clear text password
+     * @return empty response on success, or an errorMessage object
+     */
+    public CompletableFuture<JsonNode> signup(String username, String password) {
+        return post("/signup", object()
+                .put("username", username)
+                .put("password", encodePassword(password)));
+    }
+
+    /**
+     * Add a product to a cart
+     * @param cartCookie auth token for logged-in carts, visitor id for guest carts
+     * @param loggedIn true if cartCookie is an auth token
+     * @param productId product id
+     * @return empty response on success
+     */
+    public CompletableFuture<JsonNode> addToCart(String cartCookie, boolean loggedIn, int productId) {
+        return post("/addtocart", object()
+                .put("id", UUID.randomUUID().toString())
+                .put("cookie", cartCookie)
+                .put("prod_id", productId)
+                .put("flag", loggedIn));
+    }
+
+    /**
+     * Cart rows (id, prod_id) of a cart
+     * @param cartCookie auth token or visitor id
+     * @param loggedIn true if cartCookie is an auth token
+     * @return response with "Items"
+     */
+    public CompletableFuture<JsonNode> viewCart(String cartCookie, boolean loggedIn) {
+        return post("/viewcart", object()
+                .put("cookie", cartCookie)
+                .put("flag", loggedIn));
+    }
+
+    /**
+     * Remove one cart row
+     * @param cartItemId id of the cart row
+     * @return empty response on success
+     */
+    public CompletableFuture<JsonNode> deleteItem(String cartItemId) {
+        return post("/deleteitem", object().put("id", cartItemId));
+    }
+
+    /**
+     * Empty a cart, as the site does after a purchase
+     * @param cartCookie auth token or visitor id
+     * @return empty response on success
+     */
+    public CompletableFuture<JsonNode> deleteCart(String cartCookie) {
+        return post("/deletecart", object().put("cookie", cartCookie));
+    }
+
+    private CompletableFuture<JsonNode> post(String path, ObjectNode body) {
+        return send(HttpRequest.newBuilder(URI.create(apiUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+    }
+
+    private CompletableFuture<JsonNode> send(HttpRequest.Builder request) {
+        HttpRequest built = request.timeout(Duration.ofSeconds(30)).build();
+        logger.debug("{} {}", built.method(), built.uri());
+        return httpClient.sendAsync(built, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 500) {
+                        throw new IllegalStateException("Storefront API " + built.uri().getPath()
+                                + " returned " + response.statusCode());
+                    }
+                    return parse(response.body());
+                });
+    }
+
+    private static JsonNode parse(String body) {
+        if (body == null || body.trim().isEmpty()) {
+            return mapper.nullNode();
+        }
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unexpected storefront API response: " + body, e);
+        }
+    }
+
+    private static ObjectNode object() {
+        return mapper.createObjectNode();
+    }
+
+    private static String encodePassword(String password) {
+        return Base64.getEncoder().encodeToString(password.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,15 @@
+package com.demoblaze.base;
+
+import com.demoblaze.pages.ExecutionMode;
+
+/**
+ * Base class for tests in the "api" group. They run on the HTTP page backend unless
+ * the testng executionMode parameter selects another one.
+ */
+public class BaseApiTest extends BaseTest {
+
+    @Override
+    protected ExecutionMode defaultExecutionMode() {
+        return ExecutionMode.HTTP;
+    }
+}
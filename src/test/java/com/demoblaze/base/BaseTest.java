@@ -1,32 +1,80 @@
 package com.demoblaze.base;
 
+import com.demoblaze.api.AccountPool;
+import com.demoblaze.pages.ExecutionMode;
+import com.demoblaze.pages.Pages;
+import com.demoblaze.pages.http.HttpSession;
+import com.demoblaze.state.StateManager;
+import com.demoblaze.utils.CassetteProxy;
 import com.demoblaze.utils.ConfigReader;
 import com.demoblaze.utils.DriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
+import org.testng.ITestResult;
 import org.testng.annotations.*;
 import org.openqa.selenium.WebDriver;
 
-public class BaseTest {
+import java.lang.reflect.Method;
+
+public class BaseTest implements IHookable {
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
     protected WebDriver driver;
     protected ConfigReader config;
+    protected String baseUrl;
+    protected ExecutionMode executionMode;
+    protected Pages pages;
+    protected AccountPool.Account account;
 
     @BeforeClass
-    @Parameters({"browser", "baseUrl"})
-    public void setUp(@Optional("chrome") String browser, @Optional("https://www.demoblaze.com/") String baseUrl) {
+    @Parameters({"browser", "baseUrl", "executionMode"})
+    public void setUp(@Optional("chrome") String browser, @Optional("https://www.demoblaze.com/") String baseUrl,
+                      @Optional("") String executionMode) {
         logger.info("Setting up test environment");
         logger.info("Browser: " + browser);
         logger.info("Base URL: " + baseUrl);
 
         config = new ConfigReader();
-        driver = DriverManager.getDriver(browser);
-        driver.manage().window().maximize();
-        driver.get(baseUrl);
+        this.executionMode = executionMode.isEmpty()
+                ? defaultExecutionMode()
+                : ExecutionMode.fromString(executionMode);
+        logger.info("Execution mode: " + this.executionMode);
+
+        // @AfterClass does not run when set-up fails, so release the account and session here
+        try {
+            account = AccountPool.getInstance().lease();
+            logger.info("Test account: " + account.getUsername());
+
+            if (this.executionMode == ExecutionMode.REPLAY) {
+                CassetteProxy.start("replay");
+            }
+            this.baseUrl = CassetteProxy.resolve(baseUrl);
+
+            if (this.executionMode.usesBrowser()) {
+                driver = DriverManager.getDriver(browser, this.executionMode == ExecutionMode.REMOTE_BROWSER);
+                driver.manage().window().maximize();
+                driver.get(this.baseUrl);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Test setup failed, releasing its account and driver: {}", e.getMessage());
+            DriverManager.quitDriver();
+            driver = null;
+            AccountPool.getInstance().release();
+            throw e;
+        }
 
         logger.info("Test setup completed successfully");
     }
 
+    /**
+     * Execution mode used when the testng executionMode parameter is not set
+     * @return mode from config.properties
+     */
+    protected ExecutionMode defaultExecutionMode() {
+        return ExecutionMode.fromString(config.getExecutionMode());
+    }
+
     @AfterClass
     public void tearDown() {
         logger.info("Tearing down test environment");
@@ -34,11 +82,42 @@ public class BaseTest {
             DriverManager.quitDriver();
             logger.info("Driver closed successfully");
         }
+        AccountPool.getInstance().release();
     }
 
     @BeforeMethod
-    public void beforeMethod() {
-        logger.info("Navigating to home page before test method");
-        driver.get("https://www.demoblaze.com/");
+    public void beforeMethod(Method method) {
+        if (driver != null) {
+            logger.info("Navigating to home page before test method");
+            driver.get(baseUrl);
+            pages = Pages.browser(driver);
+        } else {
+            logger.info("Starting new storefront API session");
+            pages = Pages.http(new HttpSession());
+        }
+    }
+
+    /**
+     * Build the state the test declared before running it. Done here rather than in
+     * {@link #beforeMethod}, so a login or cart fill that fails fails this test only
+     * instead of skipping every remaining test of the class.
+     */
+    @Override
+    public void run(IHookCallBack callBack, ITestResult testResult) {
+        Method method = testResult.getMethod().getConstructorOrMethod().getMethod();
+        if (driver != null) {
+            StateManager.prepare(driver, pages, baseUrl, StateManager.required(method));
+        } else {
+            StateManager.prepare(pages, StateManager.required(method));
+        }
+        callBack.runTestMethod(testResult);
+    }
+
+    @AfterMethod
+    public void afterMethod(ITestResult result) {
+        if (driver != null) {
+            StateManager.record(driver, StateManager.leaves(result.getMethod().getConstructorOrMethod().getMethod()),
+                    result.isSuccess());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.demoblaze.fuzz;
+
+import com.demoblaze.utils.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Fixed set of browser sessions shared by the fuzzing workers. Each session lives on its
+ * own thread, so it is created, governed, tracked and quit through {@link DriverManager}
+ * like any test session; a worker borrows a session, runs a task on that thread and hands
+ * it back. Sessions start lazily and are reset to an anonymous visitor before every task.
+ */
+public class BrowserSessionPool implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(BrowserSessionPool.class);
+
+    private final List<ExecutorService> sessions = new ArrayList<>();
+    private final BlockingQueue<ExecutorService> idle;
+    private final String browserName;
+    private final String baseUrl;
+
+    /**
+     * @param size number of browser sessions
+     * @param browserName chrome, firefox or edge
+     * @param baseUrl storefront the sessions are reset to
+     */
+    public BrowserSessionPool(int size, String browserName, String baseUrl) {
+        this.browserName = browserName;
+        this.baseUrl = baseUrl;
+        this.idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = "fuzz-browser-" + i;
+            ExecutorService session = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            sessions.add(session);
+            idle.add(session);
+        }
+    }
+
+    /**
+     * Run a task on the next free session, waiting for one if all are busy
+     * @param task gets the session's driver, reset to a new anonymous visitor
+     * @param <T> task result
+     * @return what the task returned
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException if the session could not start or the task threw
+     */
+    public <T> T run(Function<WebDriver, T> task) throws InterruptedException, ExecutionException {
+        ExecutorService session = idle.take();
+        try {
+            return session.submit(() -> {
+                WebDriver driver = DriverManager.getDriver(browserName, false);
+                try {
+                    reset(driver);
+                    return task.apply(driver);
+                } catch (RuntimeException e) {
+                    // The session may be broken; the next task starts a new one
+                    DriverManager.quitDriver();
+                    throw e;
+                }
+            }).get();
+        } finally {
+            idle.add(session);
+        }
+    }
+
+    // Deleting the cookies also drops the anonymous cart, which is keyed by a cookie
+    private void reset(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        driver.get(baseUrl);
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+    }
+
+    /**
+     * Quit every session on its own thread
+     */
+    @Override
+    public void close() {
+        for (ExecutorService session : sessions) {
+            session.submit(DriverManager::quitDriver);
+            session.shutdown();
+        }
+        for (ExecutorService session : sessions) {
+            try {
+                if (!session.awaitTermination(1, TimeUnit.MINUTES)) {
+                    logger.warn("Fuzzing browser session did not quit in time");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.demoblaze.fuzz;
+
+import com.demoblaze.model.PurchaseData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One generated checkout: the products put in the cart (in order, duplicates allowed)
+ * and the order form submitted for them. The seed reproduces the case with
+ * {@link CheckoutGenerator#generate(long)}; shrunk cases keep the seed they came from.
+ */
+public final class CheckoutCase {
+    private final long seed;
+    private final List<String> products;
+    private final PurchaseData purchaseData;
+
+    public CheckoutCase(long seed, List<String> products, PurchaseData purchaseData) {
+        this.seed = seed;
+        this.products = Collections.unmodifiableList(new ArrayList<>(products));
+        this.purchaseData = purchaseData;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<String> getProducts() {
+        return products;
+    }
+
+    public PurchaseData getPurchaseData() {
+        return purchaseData;
+    }
+
+    /**
+     * @param products replacement cart
+     * @return copy of this case with another cart
+     */
+    public CheckoutCase withProducts(List<String> products) {
+        return new CheckoutCase(seed, products, purchaseData);
+    }
+
+    /**
+     * @param purchaseData replacement order form
+     * @return copy of this case with another order form
+     */
+    public CheckoutCase withPurchaseData(PurchaseData purchaseData) {
+        return new CheckoutCase(seed, products, purchaseData);
+    }
+
+    /**
+     * @return size used to decide whether a shrink step made progress
+     */
+    int complexity() {
+        PurchaseData data = purchaseData;
+        return products.size() * 1000
+                + length(data.getName()) + length(data.getCountry()) + length(data.getCity())
+                + length(data.getCard()) + length(data.getMonth()) + length(data.getYear());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    @Override
+    public String toString() {
+        return "CheckoutCase{seed=" + seed + ", products=" + products + ", purchaseData=" + purchaseData + "}";
+    }
+}
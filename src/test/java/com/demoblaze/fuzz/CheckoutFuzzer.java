@@ -0,0 +1,145 @@
+package com.demoblaze.fuzz;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs generated checkout cases concurrently until the case count or the time budget is
+ * used up, then shrinks the failing cases. Case i of a run uses seed base seed + i, so a
+ * run is reproducible from its base seed and any single case from its own seed.
+ */
+public class CheckoutFuzzer {
+    private static final Logger logger = LogManager.getLogger(CheckoutFuzzer.class);
+
+    private final CheckoutGenerator generator;
+    private final CheckoutProperty property;
+    private final int threads;
+    private final int maxShrinkRounds;
+    private final int maxReported;
+
+    /**
+     * @param generator case generator
+     * @param property invariants checked for each case
+     * @param threads concurrent sessions
+     * @param maxShrinkRounds shrink rounds per failing case
+     * @param maxReported failing cases shrunk and reported; further failures are only counted
+     */
+    public CheckoutFuzzer(CheckoutGenerator generator, CheckoutProperty property, int threads,
+                          int maxShrinkRounds, int maxReported) {
+        this.generator = generator;
+        this.property = property;
+        this.threads = threads;
+        this.maxShrinkRounds = maxShrinkRounds;
+        this.maxReported = maxReported;
+    }
+
+    /**
+     * Outcome of a run
+     */
+    public static final class Result {
+        private final long baseSeed;
+        private final int executed;
+        private final int failed;
+        private final List<Shrinker.Failure> failures;
+
+        Result(long baseSeed, int executed, int failed, List<Shrinker.Failure> failures) {
+            this.baseSeed = baseSeed;
+            this.executed = executed;
+            this.failed = failed;
+            this.failures = Collections.unmodifiableList(failures);
+        }
+
+        public long getBaseSeed() {
+            return baseSeed;
+        }
+
+        public int getExecuted() {
+            return executed;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * @return shrunk failing cases, at most maxReported
+         */
+        public List<Shrinker.Failure> getFailures() {
+            return failures;
+        }
+    }
+
+    /**
+     * Execute a run and block until it is done
+     * @param baseSeed seed of the first case
+     * @param cases maximum number of cases
+     * @param budget time after which no further case is started
+     * @return run outcome
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public Result run(long baseSeed, int cases, Duration budget) throws InterruptedException {
+        logger.info("Starting checkout fuzzing: seed {}, up to {} cases in {}s on {} threads",
+                baseSeed, cases, budget.getSeconds(), threads);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long deadline = System.currentTimeMillis() + budget.toMillis();
+        AtomicLong next = new AtomicLong();
+        AtomicInteger executed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Shrinker.Failure> failures = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int worker = 0; worker < threads; worker++) {
+                workers.add(pool.submit(() -> {
+                    long index;
+                    while ((index = next.getAndIncrement()) < cases && System.currentTimeMillis() < deadline) {
+                        CheckoutCase checkout = generator.generate(baseSeed + index);
+                        Violation violation = property.check(checkout);
+                        executed.incrementAndGet();
+                        if (violation != null) {
+                            failed.incrementAndGet();
+                            logger.warn("Case with seed {} failed: {}", checkout.getSeed(), violation);
+                            synchronized (failures) {
+                                if (failures.size() < maxReported) {
+                                    failures.add(new Shrinker.Failure(checkout, violation));
+                                }
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (Exception e) {
+                    logger.error("Fuzzing worker aborted: {}", e.getMessage());
+                }
+            }
+
+            // Shrink after the run, so variants get the whole pool
+            Shrinker shrinker = new Shrinker(property, pool, maxShrinkRounds);
+            List<Shrinker.Failure> shrunk = new ArrayList<>(failures.size());
+            for (Shrinker.Failure failure : failures) {
+                shrunk.add(shrinker.shrink(failure));
+            }
+
+            logger.info("Checkout fuzzing ran {} cases, {} failed", executed.get(), failed.get());
+            return new Result(baseSeed, executed.get(), failed.get(), shrunk);
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.demoblaze.fuzz;
+
+import com.demoblaze.model.PurchaseData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random checkout cases from a seed. The same seed always yields the same
+ * case, so a failure reported with its seed can be replayed. Form fields are biased
+ * towards edge cases the order form sees in practice: blank and whitespace-only values,
+ * markup, quotes, non-Latin text and overlong input.
+ */
+public class CheckoutGenerator {
+    private static final String[] NAMES = {
+            "John Doe", "Ana María Núñez", "O'Brien", "李小龙", "Zoë \"Z\" Ångström",
+            "<b>bold</b>", "Robert'); DROP TABLE orders;--", "x", "Jean-Luc Picard"
+    };
+    private static final String[] WORDS = {
+            "USA", "Spain", "Paraguay", "Côte d'Ivoire", "日本", "New York", "São Paulo", "Zürich", "-"
+    };
+    private static final String[] BLANKS = {"", " ", "\t", "   "};
+
+    private final List<String> catalog;
+    private final int maxProducts;
+
+    /**
+     * @param catalog product titles the cart is filled from
+     * @param maxProducts largest cart generated
+     */
+    public CheckoutGenerator(List<String> catalog, int maxProducts) {
+        this.catalog = catalog;
+        this.maxProducts = maxProducts;
+    }
+
+    /**
+     * @param seed case seed
+     * @return case determined by the seed
+     */
+    public CheckoutCase generate(long seed) {
+        Random random = new Random(seed);
+
+        // An empty cart is an edge case of its own; keep it rare
+        int count = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(maxProducts);
+        List<String> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(catalog.get(random.nextInt(catalog.size())));
+        }
+
+        PurchaseData purchaseData = new PurchaseData(
+                text(random, NAMES, 8),
+                text(random, WORDS, 4),
+                text(random, WORDS, 4),
+                card(random),
+                String.valueOf(random.nextInt(14)),
+                String.valueOf(1990 + random.nextInt(60)));
+        return new CheckoutCase(seed, products, purchaseData);
+    }
+
+    private static String text(Random random, String[] samples, int blankOneIn) {
+        int kind = random.nextInt(blankOneIn * 2);
+        if (kind == 0) {
+            return BLANKS[random.nextInt(BLANKS.length)];
+        }
+        if (kind == 1) {
+            return randomText(random, 1 + random.nextInt(300));
+        }
+        return samples[random.nextInt(samples.length)];
+    }
+
+    private static String card(Random random) {
+        int kind = random.nextInt(10);
+        if (kind == 0) {
+            return BLANKS[random.nextInt(BLANKS.length)];
+        }
+        StringBuilder card = new StringBuilder();
+        int digits = kind == 1 ? 1 + random.nextInt(40) : 12 + random.nextInt(8);
+        for (int i = 0; i < digits; i++) {
+            // Some cards are typed in groups of four
+            if (kind == 2 && i > 0 && i % 4 == 0) {
+                card.append(random.nextBoolean() ? ' ' : '-');
+            }
+            card.append((char) ('0' + random.nextInt(10)));
+        }
+        return card.toString();
+    }
+
+    // Printable ASCII mixed with accented Latin, CJK and emoji
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            switch (random.nextInt(8)) {
+                case 0:
+                    text.append((char) (0xC0 + random.nextInt(0x40)));
+                    break;
+                case 1:
+                    text.append((char) (0x4E00 + random.nextInt(0x5000)));
+                    break;
+                case 2:
+                    text.appendCodePoint(0x1F600 + random.nextInt(0x40));
+                    break;
+                default:
+                    text.append((char) (0x20 + random.nextInt(0x5F)));
+                    break;
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package com.demoblaze.fuzz;
+
+import com.demoblaze.api.CatalogIndex;
+import com.demoblaze.model.PurchaseData;
+import com.demoblaze.pages.CartPage;
+import com.demoblaze.pages.Pages;
+import com.demoblaze.pages.http.HttpSession;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * Checkout invariants checked for one case. The cart is checked on a fresh anonymous
+ * session of the HTTP page backend, which reads it from /viewcart:
+ * <ul>
+ *   <li>the cart holds every product added, and its total is the sum of catalog prices</li>
+ * </ul>
+ * The order form and confirmation are checked on a pooled browser session, since only
+ * the site's UI validates the form:
+ * <ul>
+ *   <li>an empty cart cannot be checked out</li>
+ *   <li>a blank name or card is rejected and leaves the cart as it was</li>
+ *   <li>otherwise the confirmation starts with "Id: &lt;digits&gt;", shows the rounded total
+ *       and the name, and the cart is empty afterwards</li>
+ * </ul>
+ */
+public class CheckoutProperty {
+    private static final Pattern ORDER_ID = Pattern.compile("^Id: \\d+\\n");
+
+    private final BrowserSessionPool browsers;
+    private final String cartUrl;
+
+    /**
+     * @param browsers sessions the form checks run on, or null to check the cart only
+     * @param baseUrl storefront the browser sessions use
+     */
+    public CheckoutProperty(BrowserSessionPool browsers, String baseUrl) {
+        this.browsers = browsers;
+        this.cartUrl = URI.create(baseUrl).resolve("cart.html").toString();
+    }
+
+    /**
+     * Run a case
+     * @param checkout case to run
+     * @return first violated invariant, or null if all hold
+     */
+    public Violation check(CheckoutCase checkout) {
+        Violation violation = checkCart(checkout);
+        if (violation != null || browsers == null) {
+            return violation;
+        }
+        try {
+            return browsers.run(driver -> checkForm(checkout, driver));
+        } catch (ExecutionException e) {
+            return Violation.unexpected(e.getCause() != null ? e.getCause() : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Violation.unexpected(e);
+        }
+    }
+
+    private static Violation checkCart(CheckoutCase checkout) {
+        HttpSession session = new HttpSession();
+        Pages pages = Pages.http(session);
+        try {
+            if (!checkout.getProducts().isEmpty() && !pages.product().addAllToCart(checkout.getProducts())) {
+                return new Violation(Violation.Kind.NOT_ADDED, "Products could not be added to the cart");
+            }
+            CartPage cartPage = pages.cart();
+            int count = cartPage.getCartItemCount();
+            if (count != checkout.getProducts().size()) {
+                return new Violation(Violation.Kind.CART_COUNT,
+                        "Cart holds " + count + " items, expected " + checkout.getProducts().size());
+            }
+            double expectedTotal = expectedTotal(checkout);
+            double total = cartPage.getTotalPrice();
+            if (Math.abs(total - expectedTotal) >= 0.01) {
+                return new Violation(Violation.Kind.CART_TOTAL,
+                        "Cart total " + total + " differs from the sum of catalog prices " + expectedTotal);
+            }
+            return null;
+        } catch (Exception e) {
+            return Violation.unexpected(e);
+        } finally {
+            // Leave nothing behind in the anonymous cart
+            try {
+                session.getClient().deleteCart(session.getCartCookie()).join();
+            } catch (Exception ignored) {
+                // The cart expires on its own
+            }
+        }
+    }
+
+    private Violation checkForm(CheckoutCase checkout, WebDriver driver) {
+        Pages pages = Pages.browser(driver);
+        if (!checkout.getProducts().isEmpty() && !pages.product().addAllToCart(checkout.getProducts())) {
+            return new Violation(Violation.Kind.NOT_ADDED, "Products could not be added to the cart in the browser");
+        }
+        driver.get(cartUrl);
+        CartPage cartPage = pages.cart();
+        int count = cartPage.getCartItemCount();
+        if (count != checkout.getProducts().size()) {
+            return new Violation(Violation.Kind.CART_COUNT,
+                    "Cart page shows " + count + " items, expected " + checkout.getProducts().size());
+        }
+
+        PurchaseData data = checkout.getPurchaseData();
+        boolean rejected = count == 0 || isBlank(data.getName()) || isBlank(data.getCard());
+        String confirmation;
+        try {
+            confirmation = cartPage.completePurchase(data);
+        } catch (RuntimeException e) {
+            if (!rejected) {
+                return new Violation(Violation.Kind.VALID_CHECKOUT_FAILED, e.getMessage());
+            }
+            acceptAlert(driver);
+            driver.get(cartUrl);
+            int left = cartPage.getCartItemCount();
+            return left == count ? null : new Violation(Violation.Kind.REJECTION_CHANGED_CART,
+                    "Rejected checkout changed the cart from " + count + " to " + left + " items");
+        }
+
+        if (rejected) {
+            return count == 0
+                    ? new Violation(Violation.Kind.EMPTY_CART_ACCEPTED, "Checkout of an empty cart was accepted: " + confirmation)
+                    : new Violation(Violation.Kind.INCOMPLETE_FORM_ACCEPTED,
+                            "Checkout with a blank name or card was accepted: " + confirmation);
+        }
+        long expectedAmount = Math.round(expectedTotal(checkout));
+        if (!ORDER_ID.matcher(confirmation).find()) {
+            return new Violation(Violation.Kind.ORDER_ID, "Confirmation has no order id: " + confirmation);
+        }
+        if (!confirmation.contains("Amount: " + expectedAmount + " USD")) {
+            return new Violation(Violation.Kind.AMOUNT,
+                    "Confirmation amount differs from " + expectedAmount + " USD: " + confirmation);
+        }
+        if (!confirmation.contains("Name: " + data.getName())) {
+            return new Violation(Violation.Kind.NAME, "Confirmation does not show the name: " + confirmation);
+        }
+        driver.get(cartUrl);
+        int left = cartPage.getCartItemCount();
+        return left == 0 ? null : new Violation(Violation.Kind.CART_NOT_EMPTIED,
+                "Cart still holds " + left + " items after checkout");
+    }
+
+    private static double expectedTotal(CheckoutCase checkout) {
+        CatalogIndex catalog = CatalogIndex.getInstance();
+        double total = 0;
+        for (String product : checkout.getProducts()) {
+            total += catalog.get(product).getPrice();
+        }
+        return total;
+    }
+
+    // The form's validation message is a native alert
+    private static void acceptAlert(WebDriver driver) {
+        try {
+            driver.switchTo().alert().accept();
+        } catch (NoAlertPresentException e) {
+            // Already dismissed by the driver's unhandled prompt behaviour
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,130 @@
+package com.demoblaze.fuzz;
+
+import com.demoblaze.model.PurchaseData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Reduces a failing case to a smaller one that still fails the same way. Each round
+ * builds the simpler variants of the current case (fewer products, shorter or plainer
+ * form fields), checks them all concurrently and continues from the simplest variant
+ * that violates the same kind of invariant; a variant that fails differently, say
+ * because its name became blank, shows another bug. Shrinking stops when no variant
+ * fails that way or after the configured number of rounds. Unexpected errors are not
+ * shrunk, since they do not depend on the case.
+ */
+public class Shrinker {
+    private static final Logger logger = LogManager.getLogger(Shrinker.class);
+
+    private final CheckoutProperty property;
+    private final ExecutorService executor;
+    private final int maxRounds;
+
+    /**
+     * @param property property the case violates
+     * @param executor pool the variants are checked on
+     * @param maxRounds upper bound on shrink rounds
+     */
+    public Shrinker(CheckoutProperty property, ExecutorService executor, int maxRounds) {
+        this.property = property;
+        this.executor = executor;
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Failing case together with the invariant it violates
+     */
+    public static final class Failure {
+        private final CheckoutCase checkout;
+        private final Violation violation;
+
+        Failure(CheckoutCase checkout, Violation violation) {
+            this.checkout = checkout;
+            this.violation = violation;
+        }
+
+        public CheckoutCase getCheckout() {
+            return checkout;
+        }
+
+        public Violation getViolation() {
+            return violation;
+        }
+    }
+
+    /**
+     * @param failure original failing case
+     * @return smallest failing case found
+     */
+    public Failure shrink(Failure failure) {
+        Failure smallest = failure;
+        Violation.Kind kind = failure.violation.getKind();
+        if (kind == Violation.Kind.UNEXPECTED) {
+            return failure;
+        }
+        for (int round = 0; round < maxRounds; round++) {
+            List<CheckoutCase> candidates = candidates(smallest.checkout);
+            List<CompletableFuture<Violation>> results = new ArrayList<>(candidates.size());
+            for (CheckoutCase candidate : candidates) {
+                results.add(CompletableFuture.supplyAsync(() -> property.check(candidate), executor));
+            }
+
+            Failure next = null;
+            for (int i = 0; i < candidates.size(); i++) {
+                Violation violation = results.get(i).join();
+                CheckoutCase candidate = candidates.get(i);
+                if (violation != null && violation.getKind() == kind && (next == null || candidate.complexity() < next.checkout.complexity())) {
+                    next = new Failure(candidate, violation);
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            smallest = next;
+        }
+        logger.info("Shrunk case of seed {} from complexity {} to {}",
+                failure.checkout.getSeed(), failure.checkout.complexity(), smallest.checkout.complexity());
+        return smallest;
+    }
+
+    private static List<CheckoutCase> candidates(CheckoutCase checkout) {
+        List<CheckoutCase> candidates = new ArrayList<>();
+        List<String> products = checkout.getProducts();
+        if (products.size() > 1) {
+            candidates.add(checkout.withProducts(products.subList(0, products.size() / 2)));
+        }
+        for (int i = 0; i < products.size(); i++) {
+            List<String> fewer = new ArrayList<>(products);
+            fewer.remove(i);
+            candidates.add(checkout.withProducts(fewer));
+        }
+
+        PurchaseData data = checkout.getPurchaseData();
+        addField(candidates, checkout, data.getName(), "a",
+                value -> new PurchaseData(value, data.getCountry(), data.getCity(), data.getCard(), data.getMonth(), data.getYear()));
+        addField(candidates, checkout, data.getCountry(), "a",
+                value -> new PurchaseData(data.getName(), value, data.getCity(), data.getCard(), data.getMonth(), data.getYear()));
+        addField(candidates, checkout, data.getCity(), "a",
+                value -> new PurchaseData(data.getName(), data.getCountry(), value, data.getCard(), data.getMonth(), data.getYear()));
+        addField(candidates, checkout, data.getCard(), "1",
+                value -> new PurchaseData(data.getName(), data.getCountry(), data.getCity(), value, data.getMonth(), data.getYear()));
+        return candidates;
+    }
+
+    // Replace the value with a one-character plain value, or keep its first half
+    private static void addField(List<CheckoutCase> candidates, CheckoutCase checkout, String value, String plain,
+                                 Function<String, PurchaseData> replace) {
+        if (value == null || value.codePointCount(0, value.length()) <= 1) {
+            return;
+        }
+        candidates.add(checkout.withPurchaseData(replace.apply(plain)));
+        int half = value.offsetByCodePoints(0, value.codePointCount(0, value.length()) / 2);
+        candidates.add(checkout.withPurchaseData(replace.apply(value.substring(0, half))));
+    }
+}
@@ -0,0 +1,52 @@
+package com.demoblaze.fuzz;
+
+/**
+ * Checkout invariant a case violated, with the details of this occurrence. The kind
+ * tells the {@link Shrinker} whether a smaller case still shows the same bug.
+ */
+public final class Violation {
+
+    /**
+     * Invariants of {@link CheckoutProperty}
+     */
+    public enum Kind {
+        NOT_ADDED,
+        CART_COUNT,
+        CART_TOTAL,
+        EMPTY_CART_ACCEPTED,
+        INCOMPLETE_FORM_ACCEPTED,
+        REJECTION_CHANGED_CART,
+        VALID_CHECKOUT_FAILED,
+        ORDER_ID,
+        AMOUNT,
+        NAME,
+        CART_NOT_EMPTIED,
+        /** The check itself broke, e.g. on a network error; not an invariant */
+        UNEXPECTED
+    }
+
+    private final Kind kind;
+    private final String message;
+
+    Violation(Kind kind, String message) {
+        this.kind = kind;
+        this.message = message;
+    }
+
+    static Violation unexpected(Throwable error) {
+        return new Violation(Kind.UNEXPECTED, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ": " + message;
+    }
+}
@@ -0,0 +1,28 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.utils.BrowserReaper;
+import com.demoblaze.utils.ConfigReader;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Starts the {@link BrowserReaper} watchdog with the suite, which also kills browsers left
+ * by earlier test JVMs that were killed, and reaps every session still open when the
+ * suite finishes, since by then each test class should have quit its driver.
+ */
+public class BrowserReaperListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (ConfigReader.getInstance().isReaperEnabled()) {
+            BrowserReaper.getInstance();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (ConfigReader.getInstance().isReaperEnabled()) {
+            BrowserReaper.getInstance().reapAll("end of suite " + suite.getName());
+        }
+    }
+}
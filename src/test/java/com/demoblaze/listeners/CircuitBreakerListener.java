@@ -0,0 +1,152 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.utils.ConfigReader;
+import com.demoblaze.utils.EnvironmentProbe;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.time.Duration;
+
+/**
+ * Fails fast when the storefront is down. The breaker opens when the suite-level health
+ * probe fails or after circuit.failure.threshold consecutive environment failures
+ * (DNS and connection errors, 5xx, and timeouts confirmed by a failing health probe,
+ * since a wait also times out on an application defect); while open, tests and their set-up are
+ * skipped with the reason instead of each waiting out its own timeout. After
+ * circuit.cooldown.seconds the next test runs a half-open probe; if the environment
+ * answers again tests resume, and the first pass closes the breaker.
+ */
+public class CircuitBreakerListener implements ISuiteListener, IInvokedMethodListener {
+    private static final Logger logger = LogManager.getLogger(CircuitBreakerListener.class);
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private String reason;
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (!config.isCircuitBreakerEnabled()) {
+            return;
+        }
+        String problem = EnvironmentProbe.check(Duration.ofMillis(config.getHealthProbeTimeout()));
+        if (problem != null) {
+            open("health probe failed: " + problem);
+        } else {
+            logger.info("Environment health probe passed");
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!ConfigReader.getInstance().isCircuitBreakerEnabled() || !guards(method.getTestMethod())) {
+            return;
+        }
+        String skipReason = admit();
+        if (skipReason != null) {
+            throw new SkipException("Environment circuit open, " + skipReason);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!ConfigReader.getInstance().isCircuitBreakerEnabled() || !guards(method.getTestMethod())) {
+            return;
+        }
+        if (testResult.getStatus() == ITestResult.SUCCESS) {
+            recordSuccess();
+        } else if (testResult.getStatus() == ITestResult.FAILURE
+                && isEnvironmentFailure(testResult.getThrowable())) {
+            recordFailure(testResult.getThrowable());
+        }
+    }
+
+    private static boolean isEnvironmentFailure(Throwable failure) {
+        if (EnvironmentProbe.isEnvironmentFailure(failure)) {
+            return true;
+        }
+        if (!EnvironmentProbe.isTimeout(failure)) {
+            return false;
+        }
+        String problem = EnvironmentProbe.check(Duration.ofMillis(ConfigReader.getInstance().getHealthProbeTimeout()));
+        if (problem == null) {
+            logger.debug("Timeout with a healthy environment, not counted: {}", failure.toString());
+            return false;
+        }
+        logger.warn("Timeout confirmed by health probe: {}", problem);
+        return true;
+    }
+
+    // Tear-down methods always run so browsers are not leaked while the breaker is open
+    private static boolean guards(ITestNGMethod method) {
+        return method.isTest()
+                || method.isBeforeMethodConfiguration()
+                || method.isBeforeClassConfiguration()
+                || method.isBeforeTestConfiguration();
+    }
+
+    /**
+     * @return null if the method may run, otherwise the skip reason
+     */
+    private synchronized String admit() {
+        if (state != State.OPEN) {
+            return null;
+        }
+        ConfigReader config = ConfigReader.getInstance();
+        long cooldownMillis = config.getCircuitCooldownSeconds() * 1000L;
+        if (System.currentTimeMillis() - openedAt < cooldownMillis) {
+            return reason;
+        }
+        String problem = EnvironmentProbe.check(Duration.ofMillis(config.getHealthProbeTimeout()));
+        if (problem != null) {
+            open("half-open probe failed: " + problem);
+            return reason;
+        }
+        // The next outcome decides: a pass closes the breaker, an environment failure reopens it
+        state = State.HALF_OPEN;
+        consecutiveFailures = 0;
+        logger.info("Environment answers again, circuit half-open");
+        return null;
+    }
+
+    private synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            close();
+        }
+    }
+
+    private synchronized void recordFailure(Throwable failure) {
+        consecutiveFailures++;
+        int threshold = Math.max(1, ConfigReader.getInstance().getCircuitFailureThreshold());
+        logger.warn("Environment failure {}/{}: {}", consecutiveFailures, threshold, failure.toString());
+        if (state == State.HALF_OPEN || consecutiveFailures >= threshold) {
+            open(consecutiveFailures + " consecutive environment failures, last: " + failure);
+        }
+    }
+
+    private void open(String cause) {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        reason = cause;
+        logger.error("Circuit opened, skipping tests for {}s: {}",
+                ConfigReader.getInstance().getCircuitCooldownSeconds(), cause);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        reason = null;
+        logger.info("Environment recovered, circuit closed");
+    }
+}
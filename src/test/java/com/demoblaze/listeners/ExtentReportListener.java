@@ -5,10 +5,12 @@ import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.demoblaze.utils.ArtifactStore;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.testng.ITestContext;
 
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -18,6 +20,9 @@ public class ExtentReportListener implements ITestListener {
 
     @Override
     public void onStart(ITestContext context) {
+        // Old reports, rolled logs and unreferenced artifacts are pruned once per run
+        ArtifactStore.getInstance().applyRetention(Paths.get("reports"));
+
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
         String reportName = "DemoblazeTestReport_" + timestamp + ".html";
 
@@ -0,0 +1,122 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.utils.ConfigReader;
+import com.demoblaze.utils.GridLauncher;
+import com.demoblaze.utils.GridStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepares the suite for Selenium Grid execution: optionally starts a local hub
+ * with N nodes, sizes parallel TestNG workers to the free grid slots and samples
+ * per-node utilization while the suite runs. Does nothing when no grid is configured.
+ */
+public class GridSuiteListener implements IAlterSuiteListener, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(GridSuiteListener.class);
+
+    private final Map<String, NodeUsage> usage = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sampler;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigReader config = ConfigReader.getInstance();
+
+        if (config.getGridLocalNodes() > 0 && !config.isGridEnabled()) {
+            String hubUrl = GridLauncher.start(
+                    config.getGridServerJar(),
+                    config.getGridLocalNodes(),
+                    config.getGridSessionsPerNode(),
+                    config.getGridSessionRequestTimeout());
+            System.setProperty("grid.url", hubUrl);
+        }
+
+        if (!config.isGridEnabled()) {
+            return;
+        }
+
+        int capacity = GridStatus.fetch(config.getGridUrl()).getConcurrentSessionCapacity();
+        if (capacity <= 0) {
+            logger.warn("Grid at {} reports no free slots; keeping configured thread counts", config.getGridUrl());
+            return;
+        }
+
+        // Workers beyond the slot count would only sit in the grid's session queue
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() != null && suite.getParallel() != XmlSuite.ParallelMode.NONE) {
+                logger.info("Sizing suite '{}' to {} workers (grid slots)", suite.getName(), capacity);
+                suite.setThreadCount(capacity);
+            }
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (!config.isGridEnabled() || sampler != null) {
+            return;
+        }
+
+        String gridUrl = config.getGridUrl();
+        int interval = Math.max(1, config.getGridMetricsInterval());
+
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-utilization-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> sample(gridUrl), 0, interval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (sampler == null) {
+            return;
+        }
+        sampler.shutdownNow();
+        sampler = null;
+
+        usage.forEach((uri, nodeUsage) -> logger.info(
+                "Grid node {}: average utilization {}%, peak {} busy slots over {} samples",
+                uri,
+                String.format("%.1f", nodeUsage.averageUtilization() * 100),
+                nodeUsage.peakBusy,
+                nodeUsage.samples));
+        usage.clear();
+    }
+
+    private void sample(String gridUrl) {
+        GridStatus status = GridStatus.fetch(gridUrl);
+        for (GridStatus.NodeStatus node : status.getNodes()) {
+            usage.computeIfAbsent(node.getUri(), uri -> new NodeUsage()).record(node);
+            logger.debug("Grid node {} [{}]: {}/{} slots busy",
+                    node.getUri(), node.getAvailability(), node.getBusySlots(), node.getTotalSlots());
+        }
+    }
+
+    private static class NodeUsage {
+        private int samples;
+        private int peakBusy;
+        private double utilizationSum;
+
+        synchronized void record(GridStatus.NodeStatus node) {
+            samples++;
+            peakBusy = Math.max(peakBusy, node.getBusySlots());
+            utilizationSum += node.getUtilization();
+        }
+
+        synchronized double averageUtilization() {
+            return samples == 0 ? 0.0 : utilizationSum / samples;
+        }
+    }
+}
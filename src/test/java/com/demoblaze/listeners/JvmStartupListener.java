@@ -0,0 +1,74 @@
+package com.demoblaze.listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures JVM time-to-first-test: the time from JVM start until TestNG starts the first
+ * test method, together with the number of classes loaded by then and whether a CDS
+ * archive was mapped. One row per fork is appended to reports/jvm-startup.csv so
+ * runs with and without the appcds profile can be compared.
+ */
+public class JvmStartupListener implements ITestListener {
+    private static final Logger logger = LogManager.getLogger(JvmStartupListener.class);
+    private static final Path REPORT = Paths.get("reports", "jvm-startup.csv");
+    private static final String HEADER = "timestamp,pid,time_to_first_test_ms,loaded_classes,cds";
+
+    private static final AtomicBoolean recorded = new AtomicBoolean();
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        int loadedClasses = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        String cds = cdsMode();
+
+        logger.info("JVM time to first test: {} ms ({} classes loaded, CDS: {})", uptime, loadedClasses, cds);
+
+        String row = String.join(",",
+                Instant.now().toString(),
+                String.valueOf(ProcessHandle.current().pid()),
+                String.valueOf(uptime),
+                String.valueOf(loadedClasses),
+                cds);
+        try {
+            Files.createDirectories(REPORT.getParent());
+            if (!Files.exists(REPORT)) {
+                Files.write(REPORT, Collections.singletonList(HEADER), StandardCharsets.UTF_8);
+            }
+            Files.write(REPORT, Collections.singletonList(row), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warn("Could not write {}: {}", REPORT, e.getMessage());
+        }
+    }
+
+    /**
+     * @return "app" for an application archive (appcds profile), "default" for the JDK's
+     * built-in archive, "off" when no archive was mapped
+     */
+    private static String cdsMode() {
+        // HotSpot reports "sharing" in java.vm.info when classes come from a CDS archive
+        if (!System.getProperty("java.vm.info", "").contains("sharing")) {
+            return "off";
+        }
+        boolean appArchive = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile="));
+        return appArchive ? "app" : "default";
+    }
+}
@@ -0,0 +1,61 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.utils.TestLogBuffer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IConfigurationListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+
+/**
+ * Flushes or drops the {@link TestLogBuffer} of the test thread when a test ends: the
+ * DEBUG/INFO detail of a failed test (or failed configuration method) goes to the
+ * artifact store, that of passed and skipped tests is discarded. Does nothing unless
+ * logging runs with log4j2-buffered.xml.
+ */
+public class LogBufferListener implements ITestListener, IConfigurationListener {
+    private static final Logger logger = LogManager.getLogger(LogBufferListener.class);
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        TestLogBuffer.discard();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        TestLogBuffer.discard();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        dump(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        dump(result);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        dump(result);
+    }
+
+    private static void dump(ITestResult result) {
+        if (!TestLogBuffer.isActive()) {
+            return;
+        }
+        String testName = result.getTestClass().getName() + "#" + result.getMethod().getMethodName();
+        try {
+            Path blob = TestLogBuffer.dump(testName, "FAILURE");
+            if (blob != null) {
+                // WARN, so the pointer reaches the persistent logs
+                logger.warn("Debug log for failed {}: {}", testName, blob.getFileName());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to write buffered log: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.utils.Metrics;
+import com.demoblaze.utils.MetricsExporter;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Feeds {@link Metrics}. As a TestNG suite listener it runs the exporter for the
+ * duration of the suite; as a WebDriver listener (attached by DriverManager) it times
+ * clicks and navigations of every session.
+ */
+public class MetricsListener implements ISuiteListener, WebDriverListener {
+    private static final ThreadLocal<Long> clickStart = new ThreadLocal<>();
+    private static final ThreadLocal<Long> navigationStart = new ThreadLocal<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        MetricsExporter.start();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        MetricsExporter.stop();
+    }
+
+    @Override
+    public void beforeClick(WebElement element) {
+        clickStart.set(Metrics.CLICKS.start());
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        observe(clickStart, Metrics.CLICKS);
+    }
+
+    @Override
+    public void beforeGet(WebDriver driver, String url) {
+        navigationStart.set(Metrics.NAVIGATIONS.start());
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        observe(navigationStart, Metrics.NAVIGATIONS);
+    }
+
+    @Override
+    public void beforeTo(WebDriver.Navigation navigation, String url) {
+        navigationStart.set(Metrics.NAVIGATIONS.start());
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        observe(navigationStart, Metrics.NAVIGATIONS);
+    }
+
+    @Override
+    public void beforeRefresh(WebDriver.Navigation navigation) {
+        navigationStart.set(Metrics.NAVIGATIONS.start());
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        observe(navigationStart, Metrics.NAVIGATIONS);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        // A failed click or navigation has no after-event; drop the pending start
+        clickStart.remove();
+        navigationStart.remove();
+    }
+
+    private static void observe(ThreadLocal<Long> start, Metrics.Histogram histogram) {
+        Long startNanos = start.get();
+        if (startNanos != null) {
+            histogram.observeSince(startNanos);
+            start.remove();
+        }
+    }
+}
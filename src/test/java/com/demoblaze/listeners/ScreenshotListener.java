@@ -1,7 +1,10 @@
 package com.demoblaze.listeners;
 
+import com.demoblaze.utils.ArtifactStore;
+import com.demoblaze.utils.ConfigReader;
 import com.demoblaze.utils.DriverManager;
-import org.apache.commons.io.FileUtils;
+import com.demoblaze.utils.FailureCapture;
+import com.demoblaze.utils.Metrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
@@ -10,54 +13,65 @@ import org.openqa.selenium.WebDriver;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.File;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.time.Instant;
 
 public class ScreenshotListener implements ITestListener {
     private static final Logger logger = LogManager.getLogger(ScreenshotListener.class);
-    private static final String SCREENSHOT_DIR = "reports/screenshots/";
 
     @Override
     public void onTestFailure(ITestResult result) {
         String testName = result.getMethod().getMethodName();
         String className = result.getTestClass().getName();
+        ConfigReader config = ConfigReader.getInstance();
 
-        try {
-            // Create screenshots directory if it doesn't exist
-            File screenshotDir = new File(SCREENSHOT_DIR);
-            if (!screenshotDir.exists()) {
-                screenshotDir.mkdirs();
-            }
+        // Never start a browser just to capture a failure
+        WebDriver driver = DriverManager.getCurrentDriver();
+        if (driver == null) {
+            logger.warn("No driver instance available for failure capture");
+            return;
+        }
 
-            // Get the current driver instance
-            WebDriver driver = DriverManager.getDriver(System.getProperty("browser", "chrome"));
+        // DOM and state first: a few milliseconds and a few KB
+        if (config.isFailureSnapshotEnabled()) {
+            try {
+                long start = Metrics.FAILURE_SNAPSHOTS.start();
+                ArtifactStore store = ArtifactStore.getInstance();
+                Instant capturedAt = Instant.now();
+                Path blob = store.put(FailureCapture.snapshot(driver), "json", true);
+                store.index(className + "#" + testName, "FAILURE", "snapshot", blob, capturedAt);
+                Metrics.FAILURE_SNAPSHOTS.observeSince(start);
 
-            if (driver != null) {
-                // Take screenshot
-                TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-                File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
+                logger.info("State snapshot captured for failed test {}: {}", testName, blob.getFileName());
+            } catch (Exception e) {
+                logger.error("Failed to capture state snapshot for test failure: {}", e.getMessage());
+            }
+        }
 
-                // Generate unique filename
-                String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-                String fileName = String.format("%s_%s_%s.png",
-                        className.substring(className.lastIndexOf('.') + 1),
-                        testName,
-                        timestamp);
+        if (!FailureCapture.screenshotAllowed(config)) {
+            logger.debug("Screenshot for {} skipped (failure.screenshot.mode={})",
+                    testName, config.getFailureScreenshotMode());
+            System.clearProperty("screenshot.path");
+            return;
+        }
 
-                File destFile = new File(SCREENSHOT_DIR + fileName);
+        try {
+            long start = Metrics.SCREENSHOT_WRITES.start();
 
-                // Copy screenshot to destination
-                FileUtils.copyFile(sourceFile, destFile);
+            // Take screenshot
+            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
+            byte[] screenshot = takesScreenshot.getScreenshotAs(OutputType.BYTES);
 
-                // Set system property for ExtentReportListener
-                System.setProperty("screenshot.path", destFile.getAbsolutePath());
+            // Identical screenshots (e.g. the same error page) share one blob
+            ArtifactStore store = ArtifactStore.getInstance();
+            Path blob = store.put(screenshot, "png", false);
+            store.index(className + "#" + testName, "FAILURE", "screenshot", blob);
+            Metrics.SCREENSHOT_WRITES.observeSince(start);
 
-                logger.info("Screenshot captured for failed test: {}", fileName);
-            } else {
-                logger.warn("No driver instance available for screenshot");
-            }
+            // Set system property for ExtentReportListener
+            System.setProperty("screenshot.path", blob.toAbsolutePath().toString());
 
+            logger.info("Screenshot captured for failed test {}: {}", testName, blob.getFileName());
         } catch (Exception e) {
             logger.error("Failed to capture screenshot for test failure: {}", e.getMessage());
         }
@@ -74,4 +88,4 @@ public class ScreenshotListener implements ITestListener {
         // Clear any previous screenshot path
         System.clearProperty("screenshot.path");
     }
-}
\ No newline at end of file
+}
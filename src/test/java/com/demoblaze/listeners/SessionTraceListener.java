@@ -0,0 +1,121 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.utils.SessionTrace;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds and flushes {@link SessionTrace}. As a WebDriver listener (attached by
+ * DriverManager) it records every driver, element, alert and navigation call of its
+ * session with its duration; as a TestNG listener it marks test starts and writes the
+ * trace to the artifact store when a test fails. Passing tests write nothing.
+ */
+public class SessionTraceListener implements ITestListener, WebDriverListener {
+    private static final Logger logger = LogManager.getLogger(SessionTraceListener.class);
+    private static final int MAX_ARGUMENT_LENGTH = 120;
+
+    private final SessionTrace trace;
+    private final ThreadLocal<Long> callStart = new ThreadLocal<>();
+
+    public SessionTraceListener() {
+        this(null);
+    }
+
+    /**
+     * @param trace trace of the session this listener decorates
+     */
+    public SessionTraceListener(SessionTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        SessionTrace.current().record("test", "start " + result.getMethod().getQualifiedName());
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        SessionTrace current = SessionTrace.current();
+        current.record("test", "failed " + result.getMethod().getQualifiedName() + ": " + result.getThrowable());
+        try {
+            Path blob = current.flush(result.getTestClass().getName() + "#" + result.getMethod().getMethodName());
+            if (blob != null) {
+                logger.info("Session trace for failed test {}: {}", result.getMethod().getMethodName(), blob.getFileName());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to write session trace: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        callStart.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, args, "ok");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(target, method, args, "error " + e.getTargetException().getClass().getSimpleName());
+    }
+
+    private void record(Object target, Method method, Object[] args, String outcome) {
+        if (trace == null) {
+            return;
+        }
+        Long start = callStart.get();
+        callStart.remove();
+        long millis = start == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        trace.record("command", targetName(target) + "." + method.getName()
+                + "(" + describe(method, args) + ") " + outcome + " " + millis + " ms");
+    }
+
+    private static String targetName(Object target) {
+        if (target instanceof WebElement) {
+            return "element";
+        }
+        if (target instanceof WebDriver) {
+            return "driver";
+        }
+        return target.getClass().getSimpleName();
+    }
+
+    private static String describe(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return "";
+        }
+        // Typed text may be a password; keep only its length
+        if ("sendKeys".equals(method.getName())) {
+            int length = 0;
+            for (Object arg : args) {
+                if (arg instanceof CharSequence[]) {
+                    for (CharSequence keys : (CharSequence[]) arg) {
+                        length += keys.length();
+                    }
+                }
+            }
+            return length + " chars";
+        }
+        StringBuilder out = new StringBuilder();
+        for (Object arg : args) {
+            if (out.length() > 0) {
+                out.append(", ");
+            }
+            out.append(arg);
+        }
+        return out.length() > MAX_ARGUMENT_LENGTH ? out.substring(0, MAX_ARGUMENT_LENGTH) + "..." : out.toString();
+    }
+}
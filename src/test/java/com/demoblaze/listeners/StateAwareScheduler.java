@@ -0,0 +1,101 @@
+package com.demoblaze.listeners;
+
+import com.demoblaze.state.BrowserState;
+import com.demoblaze.state.StateManager;
+import com.demoblaze.utils.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders test methods by their {@link com.demoblaze.state.RequiresState} declarations so
+ * consecutive tests on a session need as few state transitions (reset, login, cart fill)
+ * as possible. Starting from a fresh anonymous session it greedily picks the test whose
+ * required state is cheapest to reach, preferring tests that leave the state unchanged.
+ * Methods stay grouped by class, since each class owns its driver session; a class whose
+ * methods use priorities or dependencies keeps TestNG's order.
+ */
+public class StateAwareScheduler implements IMethodInterceptor {
+    private static final Logger logger = LogManager.getLogger(StateAwareScheduler.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigReader.getInstance().isStateSchedulerEnabled()) {
+            return methods;
+        }
+
+        Map<Class<?>, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            byClass.computeIfAbsent(method.getMethod().getRealClass(), key -> new ArrayList<>()).add(method);
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        for (List<IMethodInstance> classMethods : byClass.values()) {
+            ordered.addAll(hasExplicitOrder(classMethods) ? classMethods : order(classMethods));
+        }
+        return ordered;
+    }
+
+    private static boolean hasExplicitOrder(List<IMethodInstance> methods) {
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (method.getPriority() != 0
+                    || method.getMethodsDependedUpon().length > 0
+                    || method.getGroupsDependedUpon().length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<IMethodInstance> order(List<IMethodInstance> methods) {
+        List<IMethodInstance> remaining = new ArrayList<>(methods);
+        List<IMethodInstance> ordered = new ArrayList<>(methods.size());
+        BrowserState state = BrowserState.ANONYMOUS;
+        int transitions = 0;
+
+        while (!remaining.isEmpty()) {
+            IMethodInstance next = null;
+            int bestCost = Integer.MAX_VALUE;
+            for (IMethodInstance candidate : remaining) {
+                Method method = javaMethod(candidate);
+                BrowserState required = StateManager.required(method);
+                int cost = required.isSatisfiedBy(state) ? 0 : required.getSetupCost() * 2;
+                // A test that changes the state is better run after the ones sharing the current state
+                if (StateManager.leaves(method) != BrowserState.ANY) {
+                    cost++;
+                }
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    next = candidate;
+                }
+            }
+
+            remaining.remove(next);
+            ordered.add(next);
+            Method method = javaMethod(next);
+            if (!StateManager.required(method).isSatisfiedBy(state)) {
+                transitions++;
+                state = StateManager.required(method);
+            }
+            state = BrowserState.after(state, StateManager.leaves(method));
+        }
+
+        logger.info("Scheduled {} tests of {} with {} state transitions",
+                ordered.size(), ordered.get(0).getMethod().getRealClass().getSimpleName(), transitions);
+        return ordered;
+    }
+
+    private static Method javaMethod(IMethodInstance instance) {
+        return instance.getMethod().getConstructorOrMethod().getMethod();
+    }
+}
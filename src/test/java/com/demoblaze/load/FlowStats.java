@@ -0,0 +1,62 @@
+package com.demoblaze.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Latency samples and error count of one flow during a load run
+ */
+public class FlowStats {
+    private final String flowName;
+    private final List<Long> latencies = new ArrayList<>();
+    private int errors;
+
+    public FlowStats(String flowName) {
+        this.flowName = flowName;
+    }
+
+    public synchronized void recordSuccess(long latencyMillis) {
+        latencies.add(latencyMillis);
+    }
+
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    public String getFlowName() {
+        return flowName;
+    }
+
+    public synchronized int getCompleted() {
+        return latencies.size();
+    }
+
+    public synchronized int getErrors() {
+        return errors;
+    }
+
+    /**
+     * Successful iterations per second over the measured window
+     * @param elapsedMillis length of the load run
+     * @return throughput in iterations per second
+     */
+    public synchronized double getThroughput(long elapsedMillis) {
+        return elapsedMillis == 0 ? 0.0 : latencies.size() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * Nearest-rank percentile of successful iteration latencies
+     * @param percentile between 0 and 100
+     * @return latency in milliseconds, or 0 if there are no samples
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(rank, sorted.size()) - 1));
+    }
+}
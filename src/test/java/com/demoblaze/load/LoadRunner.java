@@ -0,0 +1,168 @@
+package com.demoblaze.load;
+
+import com.demoblaze.api.AccountPool;
+import com.demoblaze.utils.DriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs storefront flows as concurrent virtual users. Each virtual user owns one
+ * browser session (created through {@link DriverManager} on its worker thread),
+ * starts after its ramp-up offset and loops over the flows with think time between
+ * iterations until the run duration is over.
+ */
+public class LoadRunner {
+    private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+
+    private final List<VirtualUserFlow> flows;
+    private final int users;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final ThinkTime thinkTime;
+    private final String browser;
+    private final String baseUrl;
+    private final Map<String, FlowStats> stats = new LinkedHashMap<>();
+    private long elapsedMillis;
+
+    public LoadRunner(List<VirtualUserFlow> flows, int users, Duration rampUp, Duration duration,
+                      ThinkTime thinkTime, String browser, String baseUrl) {
+        this.flows = flows;
+        this.users = users;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.thinkTime = thinkTime;
+        this.browser = browser;
+        this.baseUrl = baseUrl;
+        for (VirtualUserFlow flow : flows) {
+            stats.put(flow.getName(), new FlowStats(flow.getName()));
+        }
+    }
+
+    /**
+     * Execute the load run and block until all virtual users are done
+     * @return statistics per flow name
+     * @throws InterruptedException if interrupted while waiting for virtual users
+     */
+    public Map<String, FlowStats> run() throws InterruptedException {
+        logger.info("Starting load run: {} users, ramp-up {}s, duration {}s, think time {}, flows {}",
+                users, rampUp.getSeconds(), duration.getSeconds(), thinkTime, stats.keySet());
+
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        long start = System.currentTimeMillis();
+        long end = start + rampUp.toMillis() + duration.toMillis();
+
+        List<Future<?>> virtualUsers = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            int userId = user;
+            long startDelay = users == 1 ? 0 : rampUp.toMillis() * user / (users - 1);
+            virtualUsers.add(pool.submit(() -> runVirtualUser(userId, start + startDelay, end)));
+        }
+
+        for (Future<?> virtualUser : virtualUsers) {
+            try {
+                virtualUser.get();
+            } catch (Exception e) {
+                logger.error("Virtual user aborted: {}", e.getMessage());
+            }
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+
+        elapsedMillis = System.currentTimeMillis() - start;
+        logger.info("Load run finished after {} ms", elapsedMillis);
+        return stats;
+    }
+
+    private void runVirtualUser(int userId, long startAt, long endAt) {
+        Random random = new Random(userId);
+        try {
+            sleepUntil(startAt);
+            WebDriver driver = DriverManager.getDriver(browser);
+            logger.info("Virtual user {} started", userId);
+
+            int iteration = userId;
+            while (System.currentTimeMillis() < endAt) {
+                VirtualUserFlow flow = flows.get(iteration++ % flows.size());
+                resetSession(driver);
+
+                long flowStart = System.nanoTime();
+                try {
+                    flow.run(driver);
+                    stats.get(flow.getName()).recordSuccess(
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - flowStart));
+                } catch (Exception e) {
+                    stats.get(flow.getName()).recordError();
+                    logger.warn("Virtual user {} failed flow {}: {}", userId, flow.getName(), e.getMessage());
+                }
+
+                sleepUntil(Math.min(endAt, System.currentTimeMillis() + thinkTime.nextMillis(random)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            DriverManager.quitDriver();
+            AccountPool.getInstance().release();
+            logger.info("Virtual user {} stopped", userId);
+        }
+    }
+
+    // Every iteration behaves like a new visitor: no cookies, no stored profile
+    private void resetSession(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        driver.get(baseUrl);
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear();");
+    }
+
+    private static void sleepUntil(long timestamp) throws InterruptedException {
+        long remaining = timestamp - System.currentTimeMillis();
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+
+    /**
+     * Log a per-flow summary and write it as CSV
+     * @param csv target file
+     * @throws IOException if the report cannot be written
+     */
+    public void writeReport(Path csv) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("flow,completed,errors,throughput_per_s,p50_ms,p90_ms,p95_ms,p99_ms");
+        for (FlowStats flow : stats.values()) {
+            String line = String.format(Locale.ROOT, "%s,%d,%d,%.3f,%d,%d,%d,%d",
+                    flow.getFlowName(),
+                    flow.getCompleted(),
+                    flow.getErrors(),
+                    flow.getThroughput(elapsedMillis),
+                    flow.getPercentile(50),
+                    flow.getPercentile(90),
+                    flow.getPercentile(95),
+                    flow.getPercentile(99));
+            lines.add(line);
+            logger.info("Load result {}", line);
+        }
+        if (csv.getParent() != null) {
+            Files.createDirectories(csv.getParent());
+        }
+        Files.write(csv, lines, StandardCharsets.UTF_8);
+        logger.info("Load report written to {}", csv);
+    }
+}
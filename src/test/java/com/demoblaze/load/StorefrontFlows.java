@@ -0,0 +1,129 @@
+package com.demoblaze.load;
+
+import com.demoblaze.api.AccountPool;
+import com.demoblaze.data.TestData;
+import com.demoblaze.pages.CartPage;
+import com.demoblaze.pages.HomePage;
+import com.demoblaze.pages.LoginPage;
+import com.demoblaze.pages.Pages;
+import com.demoblaze.pages.ProductPage;
+import com.demoblaze.pages.ProfilePage;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storefront journeys built from the functional page objects, for use as load flows
+ */
+public class StorefrontFlows {
+
+    /**
+     * Open the login modal and log in with the virtual user's own account, leased from
+     * {@link AccountPool} for the virtual user's thread and released when it stops
+     * @return login flow
+     */
+    public static VirtualUserFlow login() {
+        return new VirtualUserFlow() {
+            @Override
+            public String getName() {
+                return "login";
+            }
+
+            @Override
+            public void run(WebDriver driver) {
+                Pages pages = Pages.browser(driver);
+                HomePage homePage = pages.home();
+                LoginPage loginPage = pages.login();
+
+                AccountPool.Account account = AccountPool.getInstance().lease();
+                homePage.clickLogin();
+                if (!loginPage.login(account.getUsername(), account.getPassword())
+                        || !homePage.isUserLoggedIn(account.getUsername())) {
+                    throw new IllegalStateException("Login was rejected");
+                }
+            }
+        };
+    }
+
+    /**
+     * Category, product, add to cart and checkout
+     * @return purchase flow
+     */
+    public static VirtualUserFlow purchase() {
+        return new VirtualUserFlow() {
+            @Override
+            public String getName() {
+                return "purchase";
+            }
+
+            @Override
+            public void run(WebDriver driver) {
+                Pages pages = Pages.browser(driver);
+                HomePage homePage = pages.home();
+                ProductPage productPage = pages.product();
+                CartPage cartPage = pages.cart();
+
+                homePage.clickCategory(TestData.Categories.PHONES);
+                homePage.clickProduct(TestData.Products.SAMSUNG_GALAXY_S6);
+                if (!productPage.addToCart()) {
+                    throw new IllegalStateException("Product was not added to cart");
+                }
+                homePage.goToCart();
+                cartPage.waitForCartToLoad();
+                cartPage.completePurchase(TestData.getDefaultPurchaseData());
+            }
+        };
+    }
+
+    /**
+     * Store and update the localStorage profile
+     * @return profile update flow
+     */
+    public static VirtualUserFlow profileUpdate() {
+        return new VirtualUserFlow() {
+            @Override
+            public String getName() {
+                return "profile";
+            }
+
+            @Override
+            public void run(WebDriver driver) {
+                Pages pages = Pages.browser(driver);
+                ProfilePage profilePage = pages.profile();
+
+                profilePage.setProfile(TestData.ProfileData.INITIAL_FULLNAME, TestData.ProfileData.INITIAL_EMAIL);
+                profilePage.updateProfile(TestData.ProfileData.UPDATED_FULLNAME, TestData.ProfileData.UPDATED_EMAIL);
+                if (!profilePage.verifyProfile(TestData.ProfileData.UPDATED_FULLNAME,
+                        TestData.ProfileData.UPDATED_EMAIL)) {
+                    throw new IllegalStateException("Profile update was not persisted");
+                }
+            }
+        };
+    }
+
+    /**
+     * Resolve a comma separated list of flow names
+     * @param names e.g. "login,purchase,profile"
+     * @return flows in the given order
+     */
+    public static List<VirtualUserFlow> byNames(String names) {
+        List<VirtualUserFlow> flows = new ArrayList<>();
+        for (String name : names.split(",")) {
+            switch (name.trim().toLowerCase()) {
+                case "login":
+                    flows.add(login());
+                    break;
+                case "purchase":
+                    flows.add(purchase());
+                    break;
+                case "profile":
+                    flows.add(profileUpdate());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Load flow not supported: " + name);
+            }
+        }
+        return flows;
+    }
+}
@@ -0,0 +1,66 @@
+package com.demoblaze.load;
+
+import java.util.Random;
+
+/**
+ * Pause a virtual user takes between two flow iterations
+ */
+public class ThinkTime {
+    private enum Model { NONE, CONSTANT, UNIFORM, EXPONENTIAL }
+
+    private final Model model;
+    private final long meanMillis;
+
+    private ThinkTime(Model model, long meanMillis) {
+        this.model = model;
+        this.meanMillis = meanMillis;
+    }
+
+    /**
+     * Parse a think-time spec
+     * @param spec "none", "constant:2000", "uniform:2000" (0 to 2x mean) or "exponential:2000"
+     * @return think-time model
+     */
+    public static ThinkTime parse(String spec) {
+        String[] parts = spec.trim().toLowerCase().split(":");
+        if (parts[0].equals("none")) {
+            return new ThinkTime(Model.NONE, 0);
+        }
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Think time must look like <model>:<millis>: " + spec);
+        }
+        switch (parts[0]) {
+            case "constant":
+                return new ThinkTime(Model.CONSTANT, Long.parseLong(parts[1]));
+            case "uniform":
+                return new ThinkTime(Model.UNIFORM, Long.parseLong(parts[1]));
+            case "exponential":
+                return new ThinkTime(Model.EXPONENTIAL, Long.parseLong(parts[1]));
+            default:
+                throw new IllegalArgumentException("Think time model not supported: " + parts[0]);
+        }
+    }
+
+    /**
+     * Draw the next pause
+     * @param random per-user random source
+     * @return pause in milliseconds
+     */
+    public long nextMillis(Random random) {
+        switch (model) {
+            case CONSTANT:
+                return meanMillis;
+            case UNIFORM:
+                return (long) (random.nextDouble() * 2 * meanMillis);
+            case EXPONENTIAL:
+                return (long) (-Math.log(1 - random.nextDouble()) * meanMillis);
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return model == Model.NONE ? "none" : model.name().toLowerCase() + ":" + meanMillis;
+    }
+}
@@ -0,0 +1,22 @@
+package com.demoblaze.load;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One user journey executed repeatedly by a virtual user during a load run
+ */
+public interface VirtualUserFlow {
+
+    /**
+     * Name used to group latency and throughput figures in the load report
+     * @return flow name
+     */
+    String getName();
+
+    /**
+     * Run the flow once. The session starts on the home page with no cookies
+     * @param driver the virtual user's browser session
+     * @throws Exception if the flow fails; the iteration is counted as an error
+     */
+    void run(WebDriver driver) throws Exception;
+}
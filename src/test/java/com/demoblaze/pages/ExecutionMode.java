@@ -0,0 +1,38 @@
+package com.demoblaze.pages;
+
+/**
+ * Backend the page objects run against
+ */
+public enum ExecutionMode {
+    /** Local browser started by DriverManager */
+    BROWSER(true),
+    /** Browser session on the configured Selenium Grid */
+    REMOTE_BROWSER(true),
+    /** Storefront API calls, no browser */
+    HTTP(false),
+    /** Local browser served from the recorded cassette, no network */
+    REPLAY(true);
+
+    private final boolean browser;
+
+    ExecutionMode(boolean browser) {
+        this.browser = browser;
+    }
+
+    public boolean usesBrowser() {
+        return browser;
+    }
+
+    /**
+     * Parse a mode name as written in testng.xml or config.properties
+     * @param value mode name, case-insensitive, '-' and '_' interchangeable (e.g. remote-browser)
+     * @return execution mode
+     */
+    public static ExecutionMode fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Execution mode not supported: " + value);
+        }
+    }
+}
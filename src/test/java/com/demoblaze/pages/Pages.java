@@ -0,0 +1,66 @@
+package com.demoblaze.pages;
+
+import com.demoblaze.pages.browser.BrowserCartPage;
+import com.demoblaze.pages.browser.BrowserHomePage;
+import com.demoblaze.pages.browser.BrowserLoginPage;
+import com.demoblaze.pages.browser.BrowserProductPage;
+import com.demoblaze.pages.browser.BrowserProfilePage;
+import com.demoblaze.pages.http.HttpCartPage;
+import com.demoblaze.pages.http.HttpHomePage;
+import com.demoblaze.pages.http.HttpLoginPage;
+import com.demoblaze.pages.http.HttpProductPage;
+import com.demoblaze.pages.http.HttpProfilePage;
+import com.demoblaze.pages.http.HttpSession;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Page object factory for one session. Tests ask it for pages instead of constructing
+ * them, so the same test runs on any {@link ExecutionMode}.
+ */
+public final class Pages {
+    private final WebDriver driver;
+    private final HttpSession session;
+
+    private Pages(WebDriver driver, HttpSession session) {
+        this.driver = driver;
+        this.session = session;
+    }
+
+    /**
+     * Pages backed by a browser session (BROWSER, REMOTE_BROWSER and REPLAY modes)
+     * @param driver browser session
+     * @return page factory
+     */
+    public static Pages browser(WebDriver driver) {
+        return new Pages(driver, null);
+    }
+
+    /**
+     * Pages backed by storefront API calls (HTTP mode)
+     * @param session API session holding login and cart state
+     * @return page factory
+     */
+    public static Pages http(HttpSession session) {
+        return new Pages(null, session);
+    }
+
+    public HomePage home() {
+        return driver != null ? new BrowserHomePage(driver) : new HttpHomePage(session);
+    }
+
+    public LoginPage login() {
+        return driver != null ? new BrowserLoginPage(driver) : new HttpLoginPage(session);
+    }
+
+    public ProductPage product() {
+        return driver != null ? new BrowserProductPage(driver) : new HttpProductPage(session);
+    }
+
+    public CartPage cart() {
+        return driver != null ? new BrowserCartPage(driver) : new HttpCartPage(session);
+    }
+
+    public ProfilePage profile() {
+        return driver != null ? new BrowserProfilePage(driver) : new HttpProfilePage(session);
+    }
+}
@@ -0,0 +1,172 @@
+package com.demoblaze.pages.browser;
+
+import com.demoblaze.api.CatalogIndex;
+import com.demoblaze.pages.HomePage;
+import com.demoblaze.utils.BrowserEvents;
+import com.demoblaze.utils.PageSync;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.net.URI;
+import java.util.List;
+
+public class BrowserHomePage implements HomePage {
+    private static final Logger logger = LogManager.getLogger(BrowserHomePage.class);
+    private static final String PRODUCT_CONTAINER = "#tbodyid";
+    private WebDriver driver;
+    private final BrowserEvents events;
+
+    @FindBy(xpath = "//a[text()='Home ']")
+    private WebElement homeLink;
+
+    @FindBy(id = "login2")
+    private WebElement loginButton;
+
+    @FindBy(id = "nameofuser")
+    private WebElement welcomeUser;
+
+    @FindBy(id = "cartur")
+    private WebElement cartLink;
+
+    @FindBy(css = "#itemc")
+    private List<WebElement> categoryButtons;
+
+    @FindBy(linkText = "Phones")
+    private WebElement phonesCategory;
+
+    @FindBy(linkText = "Laptops")
+    private WebElement laptopsCategory;
+
+    @FindBy(linkText = "Monitors")
+    private WebElement monitorsCategory;
+
+    @FindBy(css = ".card")
+    private List<WebElement> productCards;
+
+    @FindBy(css = ".card-title a")
+    private List<WebElement> productLinks;
+
+    public BrowserHomePage(WebDriver driver) {
+        this.driver = driver;
+        this.events = BrowserEvents.of(driver);
+        PageFactory.initElements(driver, this);
+        logger.info("BrowserHomePage initialized");
+    }
+
+    @Override
+    public void goToHome() {
+        logger.info("Navigating to home page");
+        wait("home.nav-home").until(ExpectedConditions.elementToBeClickable(homeLink)).click();
+    }
+
+    @Override
+    public void clickLogin() {
+        logger.info("Clicking login button");
+        wait("home.nav-login").until(ExpectedConditions.elementToBeClickable(loginButton)).click();
+    }
+
+    @Override
+    public boolean isUserLoggedIn(String username) {
+        try {
+            String expectedText = "Welcome " + username;
+            wait("home.welcome").until(ExpectedConditions.textToBePresentInElement(welcomeUser, expectedText));
+            logger.info("User {} is logged in", username);
+            return true;
+        } catch (Exception e) {
+            logger.warn("User {} is not logged in", username);
+            return false;
+        }
+    }
+
+    @Override
+    public void goToCart() {
+        logger.info("Navigating to cart");
+        wait("home.nav-cart").until(ExpectedConditions.elementToBeClickable(cartLink)).click();
+    }
+
+    @Override
+    public void clickCategory(String categoryName) {
+        logger.info("Clicking on category: {}", categoryName);
+        WebElement category;
+
+        switch (categoryName.toLowerCase()) {
+            case "phones":
+                category = phonesCategory;
+                break;
+            case "laptops":
+                category = laptopsCategory;
+                break;
+            case "monitors":
+                category = monitorsCategory;
+                break;
+            default:
+                throw new IllegalArgumentException("Category not supported: " + categoryName);
+        }
+
+        // Cards from the previous category stay in the DOM until the XHR response renders
+        PageSync.markStale(driver, PRODUCT_CONTAINER);
+        wait("home.category").until(ExpectedConditions.elementToBeClickable(category)).click();
+        wait("home.category-products").until(ExpectedConditions.and(
+                PageSync.freshContent(PRODUCT_CONTAINER, ".card"),
+                PageSync.networkIdle()));
+    }
+
+    @Override
+    public boolean isCategoryDisplayed(String categoryName) {
+        try {
+            for (WebElement category : categoryButtons) {
+                if (category.getText().trim().equalsIgnoreCase(categoryName)) {
+                    logger.info("Category {} is displayed", categoryName);
+                    return true;
+                }
+            }
+            logger.warn("Category {} is not displayed", categoryName);
+            return false;
+        } catch (Exception e) {
+            logger.error("Error checking category display: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public int getProductCount() {
+        wait("home.network-idle").until(PageSync.networkIdle());
+        wait("home.products").until(ExpectedConditions.presenceOfAllElementsLocatedBy(
+                org.openqa.selenium.By.cssSelector(".card")));
+        int count = productCards.size();
+        logger.info("Found {} products on the page", count);
+        return count;
+    }
+
+    @Override
+    public void clickProduct(String productName) {
+        logger.info("Opening product: {}", productName);
+        CatalogIndex.Product product = CatalogIndex.getInstance().find(productName);
+        if (product == null) {
+            throw new RuntimeException("Product not found: " + productName);
+        }
+        // Open the product page by id instead of searching the listing cards
+        driver.get(URI.create(driver.getCurrentUrl()).resolve(product.getUrlPath()).toString());
+    }
+
+    @Override
+    public List<String> getProductNames() {
+        wait("home.network-idle").until(PageSync.networkIdle());
+        wait("home.products").until(ExpectedConditions.presenceOfAllElementsLocatedBy(
+                org.openqa.selenium.By.cssSelector(".card-title a")));
+
+        return productLinks.stream()
+                .map(element -> element.getText().trim())
+                .collect(java.util.stream.Collectors.toList());
+    }
+
+    private WebDriverWait wait(String action) {
+        return events.newWait(action);
+    }
+}
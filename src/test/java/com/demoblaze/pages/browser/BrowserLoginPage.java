@@ -0,0 +1,165 @@
+package com.demoblaze.pages.browser;
+
+import com.demoblaze.api.LoginSessionCache;
+import com.demoblaze.pages.LoginPage;
+import com.demoblaze.utils.BrowserEvents;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.Alert;
+
+import java.util.Optional;
+
+public class BrowserLoginPage implements LoginPage {
+    private static final Logger logger = LogManager.getLogger(BrowserLoginPage.class);
+    // Cookie the site keeps the auth token in; every page load validates it via /check
+    private static final String TOKEN_COOKIE = "tokenp_";
+    private WebDriver driver;
+    private final BrowserEvents events;
+
+    @FindBy(id = "logInModal")
+    private WebElement loginModal;
+
+    @FindBy(id = "loginusername")
+    private WebElement usernameField;
+
+    @FindBy(id = "loginpassword")
+    private WebElement passwordField;
+
+    @FindBy(xpath = "//button[contains(text(),'Log in') and @onclick='logIn()']")
+    private WebElement loginSubmitButton;
+
+    @FindBy(xpath = "//button[@class='btn btn-secondary' and @data-dismiss='modal']")
+    private WebElement closeButton;
+
+    public BrowserLoginPage(WebDriver driver) {
+        this.driver = driver;
+        this.events = BrowserEvents.of(driver);
+        PageFactory.initElements(driver, this);
+        logger.info("BrowserLoginPage initialized");
+    }
+
+    @Override
+    public void waitForModalToBeVisible() {
+        logger.info("Waiting for login modal to be visible");
+        wait("login.modal").until(ExpectedConditions.visibilityOf(loginModal));
+    }
+
+    @Override
+    public void enterUsername(String username) {
+        logger.info("Entering username: {}", username);
+        wait("login.username").until(ExpectedConditions.elementToBeClickable(usernameField));
+        usernameField.clear();
+        usernameField.sendKeys(username);
+    }
+
+    @Override
+    public void enterPassword(String password) {
+        logger.info("Entering password");
+        wait("login.password").until(ExpectedConditions.elementToBeClickable(passwordField));
+        passwordField.clear();
+        passwordField.sendKeys(password);
+    }
+
+    @Override
+    public void clickLoginButton() {
+        logger.info("Clicking login submit button");
+        wait("login.submit").until(ExpectedConditions.elementToBeClickable(loginSubmitButton)).click();
+    }
+
+    @Override
+    public String handleAlert() {
+        try {
+            logger.info("Waiting for alert or welcome message");
+            // A rejected login shows an alert, a successful one the welcome text; take whichever comes first
+            Optional<Alert> outcome = events.newOptionalWait("login.alert").until(driver -> {
+                try {
+                    return Optional.of(driver.switchTo().alert());
+                } catch (NoAlertPresentException e) {
+                    return welcomeShown(driver) ? Optional.<Alert>empty() : null;
+                }
+            });
+            if (!outcome.isPresent()) {
+                logger.info("No alert present, user is logged in");
+                return null;
+            }
+            Alert alert = outcome.get();
+            String alertText = alert.getText();
+            logger.info("Alert text: {}", alertText);
+            alert.accept();
+            return alertText;
+        } catch (Exception e) {
+            logger.info("No alert present");
+            return null;
+        }
+    }
+
+    private static boolean welcomeShown(WebDriver driver) {
+        return driver.findElements(By.id("nameofuser")).stream()
+                .anyMatch(element -> element.isDisplayed() && element.getText().startsWith("Welcome"));
+    }
+
+    @Override
+    public boolean login(String username, String password) {
+        try {
+            waitForModalToBeVisible();
+            enterUsername(username);
+            enterPassword(password);
+            clickLoginButton();
+
+            // Check if alert appears (login failed)
+            String alertText = handleAlert();
+            if (alertText != null) {
+                logger.warn("Login failed with alert: {}", alertText);
+                return false;
+            }
+
+            // If no alert, login was successful
+            logger.info("Login successful for user: {}", username);
+            return true;
+        } catch (Exception e) {
+            logger.error("Error during login process: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean restoreSession(String username, String password) {
+        try {
+            logger.info("Restoring cached session for user: {}", username);
+            driver.manage().addCookie(new Cookie(TOKEN_COOKIE, LoginSessionCache.token(username, password), "/"));
+            driver.navigate().refresh();
+            wait("login.restore").until(ExpectedConditions.textToBePresentInElementLocated(
+                    By.id("nameofuser"), "Welcome " + username));
+            return true;
+        } catch (Exception e) {
+            logger.warn("Cached session for {} was not accepted: {}", username, e.getMessage());
+            LoginSessionCache.invalidate(username);
+            return false;
+        }
+    }
+
+    @Override
+    public void closeModal() {
+        logger.info("Closing login modal");
+        try {
+            if (closeButton.isDisplayed()) {
+                closeButton.click();
+            }
+        } catch (Exception e) {
+            logger.warn("Could not close modal: {}", e.getMessage());
+        }
+    }
+
+    private WebDriverWait wait(String action) {
+        return events.newWait(action);
+    }
+}
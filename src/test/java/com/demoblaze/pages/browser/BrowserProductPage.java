@@ -0,0 +1,191 @@
+package com.demoblaze.pages.browser;
+
+import com.demoblaze.api.CatalogIndex;
+import com.demoblaze.pages.ProductPage;
+import com.demoblaze.utils.BrowserEvents;
+import com.demoblaze.utils.PageSync;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.Alert;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BrowserProductPage implements ProductPage {
+    private static final Logger logger = LogManager.getLogger(BrowserProductPage.class);
+    private WebDriver driver;
+    private final BrowserEvents events;
+
+    @FindBy(xpath = "//a[contains(@onclick,'addToCart')]")
+    private WebElement addToCartButton;
+
+    @FindBy(css = ".name")
+    private WebElement productName;
+
+    @FindBy(css = ".price-container")
+    private WebElement productPrice;
+
+    @FindBy(css = "#more-information")
+    private WebElement productDescription;
+
+    @FindBy(css = ".item img")
+    private WebElement productImage;
+
+    public BrowserProductPage(WebDriver driver) {
+        this.driver = driver;
+        this.events = BrowserEvents.of(driver);
+        PageFactory.initElements(driver, this);
+        logger.info("BrowserProductPage initialized");
+    }
+
+    @Override
+    public void waitForPageToLoad() {
+        logger.info("Waiting for product page to load");
+        wait("product.name").until(ExpectedConditions.visibilityOf(productName));
+        wait("product.add-button").until(ExpectedConditions.elementToBeClickable(addToCartButton));
+    }
+
+    @Override
+    public String getProductName() {
+        waitForPageToLoad();
+        String name = productName.getText().trim();
+        logger.info("Product name: {}", name);
+        return name;
+    }
+
+    @Override
+    public String getProductPrice() {
+        String price = productPrice.getText().trim();
+        logger.info("Product price: {}", price);
+        return price;
+    }
+
+    @Override
+    public boolean addToCart() {
+        try {
+            logger.info("Adding product to cart");
+            waitForPageToLoad();
+            addToCartButton.click();
+
+            // Handle the "Product added" alert
+            Alert alert = wait("product.added-alert").until(ExpectedConditions.alertIsPresent());
+            String alertText = alert.getText();
+            logger.info("Alert text after adding to cart: {}", alertText);
+            alert.accept();
+
+            // Verify the alert contains expected message
+            boolean success = alertText.contains("Product added");
+            if (success) {
+                logger.info("Product successfully added to cart");
+            } else {
+                logger.warn("Unexpected alert message when adding to cart: {}", alertText);
+            }
+
+            return success;
+        } catch (Exception e) {
+            logger.error("Error adding product to cart: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean addAllToCart(List<String> productNames) {
+        if (productNames.isEmpty()) {
+            return true;
+        }
+        CatalogIndex catalog = CatalogIndex.getInstance();
+        List<CatalogIndex.Product> products = productNames.stream()
+                .map(catalog::get)
+                .collect(Collectors.toList());
+        List<Integer> productIds = products.stream()
+                .map(CatalogIndex.Product::getId)
+                .collect(Collectors.toList());
+
+        try {
+            logger.info("Adding {} products to cart in one batch", productIds.size());
+
+            // Any product page defines the site's addToCart(id); open the first one directly
+            driver.get(URI.create(driver.getCurrentUrl()).resolve(products.get(0).getUrlPath()).toString());
+            waitForPageToLoad();
+
+            // All requests go out at once; each success callback raises one alert
+            ((JavascriptExecutor) driver).executeScript(
+                    "arguments[0].forEach(function(id) { addToCart(id); });", productIds);
+
+            int confirmed = 0;
+            for (int i = 0; i < productIds.size(); i++) {
+                Alert alert = wait("product.added-alert").until(ExpectedConditions.alertIsPresent());
+                String alertText = alert.getText();
+                alert.accept();
+                if (alertText.contains("Product added")) {
+                    confirmed++;
+                } else {
+                    logger.warn("Unexpected alert message when adding to cart: {}", alertText);
+                }
+            }
+
+            logger.info("{} of {} products confirmed as added", confirmed, productIds.size());
+            return confirmed == productIds.size() && cartHolds(productNames);
+        } catch (Exception e) {
+            logger.error("Error adding products to cart: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // One read of the cart table, once its rows have been rendered, confirms the whole batch
+    private boolean cartHolds(List<String> productNames) {
+        driver.get(URI.create(driver.getCurrentUrl()).resolve("cart.html").toString());
+        wait("product.cart-check").until(PageSync.networkIdle());
+        @SuppressWarnings("unchecked")
+        List<String> titles = (List<String>) ((JavascriptExecutor) driver).executeScript(
+                "return Array.prototype.map.call(document.querySelectorAll('#tbodyid tr td:nth-child(2)'),"
+                        + " function(td) { return td.innerText.trim(); });");
+        List<String> missing = new ArrayList<>(productNames);
+        titles.forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            logger.warn("Cart is missing products {} after adding them", missing);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isProductDisplayed() {
+        try {
+            waitForPageToLoad();
+            boolean displayed = productName.isDisplayed() &&
+                    addToCartButton.isDisplayed() &&
+                    productPrice.isDisplayed();
+            logger.info("Product page fully displayed: {}", displayed);
+            return displayed;
+        } catch (Exception e) {
+            logger.error("Error checking if product is displayed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public String getProductDescription() {
+        try {
+            String description = productDescription.getText().trim();
+            logger.info("Product description length: {}", description.length());
+            return description;
+        } catch (Exception e) {
+            logger.warn("Could not get product description: {}", e.getMessage());
+            return "";
+        }
+    }
+
+    private WebDriverWait wait(String action) {
+        return events.newWait(action);
+    }
+}
@@ -0,0 +1,132 @@
+package com.demoblaze.pages.browser;
+
+import com.demoblaze.data.TestData;
+import com.demoblaze.pages.ProfilePage;
+import com.demoblaze.utils.WebStorage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.PageFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * BrowserProfilePage simulates user profile management using localStorage
+ * since Demoblaze doesn't have native profile functionality.
+ * Every operation is at most one storage read plus one write through {@link WebStorage}.
+ */
+public class BrowserProfilePage implements ProfilePage {
+    private static final Logger logger = LogManager.getLogger(BrowserProfilePage.class);
+    private static final String PROFILE_KEY = TestData.ProfileData.PROFILE_KEY;
+    private WebDriver driver;
+    private WebStorage storage;
+
+    public BrowserProfilePage(WebDriver driver) {
+        this.driver = driver;
+        this.storage = WebStorage.local(driver);
+        PageFactory.initElements(driver, this);
+        logger.info("BrowserProfilePage initialized");
+    }
+
+    @Override
+    public void setProfile(String fullname, String email) {
+        logger.info("Setting profile data - Fullname: {}, Email: {}", fullname, email);
+
+        Map<String, String> profile = new LinkedHashMap<>();
+        profile.put("fullname", fullname);
+        profile.put("email", email);
+        storage.write(Collections.singletonMap(PROFILE_KEY, WebStorage.toJson(profile)));
+        logger.info("Profile data set in localStorage");
+    }
+
+    @Override
+    public void updateProfile(String fullname, String email) {
+        logger.info("Updating profile data - Fullname: {}, Email: {}", fullname, email);
+
+        WebStorage.Snapshot snapshot = storage.snapshot(PROFILE_KEY);
+        Map<String, String> profile = snapshot.getObject(PROFILE_KEY);
+        profile.put("fullname", fullname);
+        profile.put("email", email);
+        snapshot.putObject(PROFILE_KEY, profile);
+        snapshot.flush();
+        logger.info("Profile data updated in localStorage");
+    }
+
+    @Override
+    public Map<String, String> getProfile() {
+        logger.info("Retrieving profile data from localStorage");
+        Map<String, String> profile = WebStorage.parseObject(
+                storage.read(Collections.singletonList(PROFILE_KEY)).get(PROFILE_KEY));
+        logger.info("Retrieved profile data: {}", profile);
+        return profile;
+    }
+
+    @Override
+    public boolean verifyProfile(String expectedFullname, String expectedEmail) {
+        logger.info("Verifying profile data - Expected Fullname: {}, Email: {}",
+                expectedFullname, expectedEmail);
+
+        Map<String, String> currentProfile = getProfile();
+
+        boolean fullnameMatch = expectedFullname.equals(currentProfile.get("fullname"));
+        boolean emailMatch = expectedEmail.equals(currentProfile.get("email"));
+        boolean isValid = fullnameMatch && emailMatch;
+
+        logger.info("Profile verification result: {}", isValid);
+        if (!isValid) {
+            logger.warn("Profile mismatch - Current: {}, Expected: fullname={}, email={}",
+                    currentProfile, expectedFullname, expectedEmail);
+        }
+
+        return isValid;
+    }
+
+    @Override
+    public void clearProfile() {
+        logger.info("Clearing profile data from localStorage");
+        storage.write(Collections.singletonMap(PROFILE_KEY, null));
+        logger.info("Profile data cleared");
+    }
+
+    @Override
+    public boolean profileExists() {
+        Map<String, String> profile = getProfile();
+        boolean exists = !profile.isEmpty();
+        logger.info("Profile exists: {}", exists);
+        return exists;
+    }
+
+    @Override
+    public void reloadPage() {
+        logger.info("Reloading page to test persistence");
+        driver.navigate().refresh();
+    }
+
+    @Override
+    public String getFullname() {
+        String fullname = getProfile().getOrDefault("fullname", "");
+        logger.info("Current fullname: {}", fullname);
+        return fullname;
+    }
+
+    @Override
+    public String getEmail() {
+        String email = getProfile().getOrDefault("email", "");
+        logger.info("Current email: {}", email);
+        return email;
+    }
+
+    @Override
+    public void partialUpdate(String field, String value) {
+        logger.info("Partially updating profile - Field: {}, Value: {}", field, value);
+
+        WebStorage.Snapshot snapshot = storage.snapshot(PROFILE_KEY);
+        Map<String, String> profile = snapshot.getObject(PROFILE_KEY);
+        profile.put(field, value);
+        snapshot.putObject(PROFILE_KEY, profile);
+        snapshot.flush();
+        logger.info("Profile field updated");
+    }
+}
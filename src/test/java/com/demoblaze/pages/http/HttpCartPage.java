@@ -0,0 +1,222 @@
+package com.demoblaze.pages.http;
+
+import com.demoblaze.model.PurchaseData;
+import com.demoblaze.pages.CartPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cart and checkout operations executed against the storefront cart endpoints.
+ * Checkout mirrors the site's client-side logic: Name and Credit card are required,
+ * the cart is emptied and a confirmation with a random order id is shown.
+ */
+public class HttpCartPage implements CartPage {
+    private static final Logger logger = LogManager.getLogger(HttpCartPage.class);
+    private final HttpSession session;
+
+    private List<CartRow> rows = new ArrayList<>();
+    private PurchaseData orderForm;
+    private String confirmationMessage;
+
+    public HttpCartPage(HttpSession session) {
+        this.session = session;
+        logger.info("HttpCartPage initialized");
+    }
+
+    @Override
+    public void waitForCartToLoad() {
+        logger.info("Loading cart");
+        JsonNode cart = session.getClient().viewCart(session.getCartCookie(), session.isLoggedIn()).join();
+
+        // One /view call per row, issued concurrently like the site does
+        List<String> rowIds = new ArrayList<>();
+        List<CompletableFuture<JsonNode>> products = new ArrayList<>();
+        for (JsonNode row : cart.path("Items")) {
+            rowIds.add(row.path("id").asText());
+            products.add(session.getClient().view(row.path("prod_id").asInt()));
+        }
+
+        List<CartRow> loaded = new ArrayList<>(rowIds.size());
+        for (int i = 0; i < rowIds.size(); i++) {
+            JsonNode product = products.get(i).join();
+            loaded.add(new CartRow(rowIds.get(i), product.path("id").asInt(), product.path("price").asDouble()));
+        }
+        rows = loaded;
+    }
+
+    @Override
+    public void waitForCartEmptyToLoad() {
+        waitForCartToLoad();
+    }
+
+    @Override
+    public int getCartItemCount() {
+        waitForCartToLoad();
+        int count = rows.size();
+        logger.info("Cart contains {} items", count);
+        return count;
+    }
+
+    @Override
+    public List<Double> getItemPrices() {
+        List<Double> prices = new ArrayList<>();
+        for (CartRow row : rows) {
+            prices.add(row.price);
+        }
+        logger.info("Retrieved {} item prices", prices.size());
+        return prices;
+    }
+
+    @Override
+    public double getTotalPrice() {
+        double total = getItemPrices().stream().mapToDouble(Double::doubleValue).sum();
+        logger.info("Cart total: {}", total);
+        return total;
+    }
+
+    @Override
+    public boolean hasItems() {
+        boolean hasItems = getCartItemCount() > 0;
+        logger.info("Cart has items: {}", hasItems);
+        return hasItems;
+    }
+
+    @Override
+    public void deleteFirstItem() {
+        if (!rows.isEmpty()) {
+            logger.info("Deleting first item from cart");
+            session.getClient().deleteItem(rows.get(0).id).join();
+            waitForCartToLoad();
+        } else {
+            logger.warn("No items to delete from cart");
+        }
+    }
+
+    @Override
+    public void clickPlaceOrder() {
+        logger.info("Opening order form");
+        orderForm = null;
+        confirmationMessage = null;
+    }
+
+    @Override
+    public boolean isOrderModalVisible() {
+        boolean visible = !rows.isEmpty();
+        logger.info("Order modal is visible: {}", visible);
+        return visible;
+    }
+
+    @Override
+    public void fillOrderForm(PurchaseData purchaseData) {
+        logger.info("Filling order form with purchase data");
+        orderForm = purchaseData;
+    }
+
+    @Override
+    public void clickPurchase() {
+        logger.info("Submitting order");
+        if (orderForm == null || isBlank(orderForm.getName()) || isBlank(orderForm.getCard())) {
+            session.setLastAlert("Please fill out Name and Creditcard.");
+            return;
+        }
+
+        double amount = getTotalPrice();
+        session.getClient().deleteCart(session.getCartCookie()).join();
+        rows = new ArrayList<>();
+
+        LocalDate today = LocalDate.now();
+        confirmationMessage = String.format("Id: %d\nAmount: %d USD\nCard Number: %s\nName: %s\nDate: %d/%d/%d",
+                ThreadLocalRandom.current().nextInt(1_000_000, 10_000_000),
+                Math.round(amount),
+                orderForm.getCard(),
+                orderForm.getName(),
+                today.getDayOfMonth(), today.getMonthValue() - 1, today.getYear());
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        logger.info("Order confirmation message: {}", confirmationMessage);
+        return confirmationMessage;
+    }
+
+    @Override
+    public void clickOK() {
+        logger.info("Closing confirmation");
+    }
+
+    @Override
+    public String completePurchase(PurchaseData purchaseData) {
+        try {
+            clickPlaceOrder();
+
+            if (!isOrderModalVisible()) {
+                throw new RuntimeException("Order modal did not appear - cart might be empty");
+            }
+
+            fillOrderForm(purchaseData);
+            clickPurchase();
+
+            String message = getConfirmationMessage();
+            if (message == null) {
+                throw new RuntimeException("Purchase confirmation did not appear");
+            }
+
+            clickOK();
+            logger.info("Purchase completed successfully");
+            return message;
+
+        } catch (Exception e) {
+            logger.error("Error completing purchase: {}", e.getMessage());
+            throw new RuntimeException("Purchase failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sum of the catalog prices seen in listings for the products in the cart
+     * @return expected total
+     */
+    @Override
+    public double calculateExpectedTotal() {
+        double expectedTotal = 0;
+        for (CartRow row : rows) {
+            Double listed = session.getCatalogPrice(row.productId);
+            expectedTotal += listed != null ? listed : row.price;
+        }
+        logger.info("Calculated expected total: {}", expectedTotal);
+        return expectedTotal;
+    }
+
+    @Override
+    public boolean validateTotal() {
+        double actualTotal = getTotalPrice();
+        double expectedTotal = calculateExpectedTotal();
+        boolean isValid = Math.abs(actualTotal - expectedTotal) < 0.01;
+
+        logger.info("Total validation - Expected: {}, Actual: {}, Valid: {}",
+                expectedTotal, actualTotal, isValid);
+        return isValid;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static class CartRow {
+        private final String id;
+        private final int productId;
+        private final double price;
+
+        CartRow(String id, int productId, double price) {
+            this.id = id;
+            this.productId = productId;
+            this.price = price;
+        }
+    }
+}
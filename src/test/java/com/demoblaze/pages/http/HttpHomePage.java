@@ -0,0 +1,102 @@
+package com.demoblaze.pages.http;
+
+import com.demoblaze.api.CatalogIndex;
+import com.demoblaze.pages.HomePage;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Home page operations executed as storefront API calls instead of browser actions
+ */
+public class HttpHomePage implements HomePage {
+    private static final Logger logger = LogManager.getLogger(HttpHomePage.class);
+    private final HttpSession session;
+
+    public HttpHomePage(HttpSession session) {
+        this.session = session;
+        logger.info("HttpHomePage initialized");
+    }
+
+    @Override
+    public void goToHome() {
+        logger.info("Loading home page entries");
+        session.setListedProducts(toList(session.getClient().entries().join().path("Items")));
+    }
+
+    @Override
+    public void clickLogin() {
+        // The login modal has no API equivalent; HttpLoginPage.login talks to /login directly
+        logger.info("Opening login (no-op for HTTP backend)");
+    }
+
+    @Override
+    public boolean isUserLoggedIn(String username) {
+        boolean loggedIn = username.equals(session.getLoggedInUser());
+        logger.info("User {} is logged in: {}", username, loggedIn);
+        return loggedIn;
+    }
+
+    @Override
+    public void goToCart() {
+        logger.info("Navigating to cart (no-op for HTTP backend)");
+    }
+
+    @Override
+    public void clickCategory(String categoryName) {
+        logger.info("Loading category: {}", categoryName);
+        session.setListedProducts(toList(
+                session.getClient().byCategory(apiCategory(categoryName)).join().path("Items")));
+    }
+
+    @Override
+    public boolean isCategoryDisplayed(String categoryName) {
+        try {
+            boolean displayed = session.getClient().byCategory(apiCategory(categoryName)).join()
+                    .path("Items").size() > 0;
+            logger.info("Category {} is displayed: {}", categoryName, displayed);
+            return displayed;
+        } catch (Exception e) {
+            logger.error("Error checking category display: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public int getProductCount() {
+        int count = session.getListedProducts().size();
+        logger.info("Found {} products", count);
+        return count;
+    }
+
+    @Override
+    public void clickProduct(String productName) {
+        logger.info("Opening product: {}", productName);
+        CatalogIndex.Product product = CatalogIndex.getInstance().find(productName);
+        if (product == null) {
+            throw new RuntimeException("Product not found: " + productName);
+        }
+        session.setCurrentProduct(session.getClient().view(product.getId()).join());
+    }
+
+    @Override
+    public List<String> getProductNames() {
+        return session.getListedProducts().stream()
+                .map(product -> product.path("title").asText().trim())
+                .collect(Collectors.toList());
+    }
+
+    private static String apiCategory(String categoryName) {
+        return CatalogIndex.Category.fromDisplayName(categoryName).getApiName();
+    }
+
+    private static List<JsonNode> toList(JsonNode items) {
+        List<JsonNode> list = new ArrayList<>();
+        items.forEach(list::add);
+        return list;
+    }
+}
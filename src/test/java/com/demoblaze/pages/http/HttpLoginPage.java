@@ -0,0 +1,105 @@
+package com.demoblaze.pages.http;
+
+import com.demoblaze.api.LoginSessionCache;
+import com.demoblaze.api.StorefrontClient;
+import com.demoblaze.pages.LoginPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Login operations executed against the storefront /login endpoint
+ */
+public class HttpLoginPage implements LoginPage {
+    private static final Logger logger = LogManager.getLogger(HttpLoginPage.class);
+    private final HttpSession session;
+
+    private String username;
+    private String password;
+
+    public HttpLoginPage(HttpSession session) {
+        this.session = session;
+        logger.info("HttpLoginPage initialized");
+    }
+
+    @Override
+    public void waitForModalToBeVisible() {
+        // No modal in the HTTP backend
+    }
+
+    @Override
+    public String handleAlert() {
+        String alertText = session.getLastAlert();
+        session.setLastAlert(null);
+        logger.info("Alert text: {}", alertText);
+        return alertText;
+    }
+
+    @Override
+    public void enterUsername(String username) {
+        logger.info("Entering username: {}", username);
+        this.username = username;
+    }
+
+    @Override
+    public void enterPassword(String password) {
+        logger.info("Entering password");
+        this.password = password;
+    }
+
+    @Override
+    public void clickLoginButton() {
+        logger.info("Submitting login");
+        JsonNode response = session.getClient().login(username, password).join();
+
+        // The site shows errorMessage in an alert; a plain string carries the token
+        if (response.has("errorMessage")) {
+            session.setLastAlert(response.path("errorMessage").asText());
+            return;
+        }
+
+        String token = StorefrontClient.authToken(response);
+        if (token == null) {
+            throw new IllegalStateException("Unexpected login response: " + response);
+        }
+        session.logIn(username, token);
+    }
+
+    @Override
+    public boolean login(String username, String password) {
+        try {
+            enterUsername(username);
+            enterPassword(password);
+            clickLoginButton();
+
+            String alertText = handleAlert();
+            if (alertText != null) {
+                logger.warn("Login failed with alert: {}", alertText);
+                return false;
+            }
+
+            logger.info("Login successful for user: {}", username);
+            return true;
+        } catch (Exception e) {
+            logger.error("Error during login process: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean restoreSession(String username, String password) {
+        try {
+            session.logIn(username, LoginSessionCache.token(username, password));
+            logger.info("Restored cached session for user: {}", username);
+            return true;
+        } catch (Exception e) {
+            logger.error("Could not restore session for {}: {}", username, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void closeModal() {
+        // No modal in the HTTP backend
+    }
+}
@@ -0,0 +1,114 @@
+package com.demoblaze.pages.http;
+
+import com.demoblaze.api.CatalogIndex;
+import com.demoblaze.pages.ProductPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Product page operations for the product opened through {@link HttpHomePage#clickProduct}
+ */
+public class HttpProductPage implements ProductPage {
+    private static final Logger logger = LogManager.getLogger(HttpProductPage.class);
+    private final HttpSession session;
+
+    public HttpProductPage(HttpSession session) {
+        this.session = session;
+        logger.info("HttpProductPage initialized");
+    }
+
+    @Override
+    public void waitForPageToLoad() {
+        // The product is loaded by HttpHomePage.clickProduct
+        currentProduct();
+    }
+
+    @Override
+    public String getProductName() {
+        String name = currentProduct().path("title").asText().trim();
+        logger.info("Product name: {}", name);
+        return name;
+    }
+
+    @Override
+    public String getProductPrice() {
+        // Same text the product page renders
+        String price = "$" + currentProduct().path("price").asText() + " *includes tax";
+        logger.info("Product price: {}", price);
+        return price;
+    }
+
+    @Override
+    public boolean addToCart() {
+        try {
+            int productId = currentProduct().path("id").asInt();
+            logger.info("Adding product {} to cart", productId);
+            session.getClient().addToCart(session.getCartCookie(), session.isLoggedIn(), productId).join();
+            logger.info("Product successfully added to cart");
+            return true;
+        } catch (Exception e) {
+            logger.error("Error adding product to cart: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean addAllToCart(List<String> productNames) {
+        try {
+            CatalogIndex catalog = CatalogIndex.getInstance();
+            List<Integer> productIds = productNames.stream()
+                    .map(catalog::idOf)
+                    .collect(Collectors.toList());
+            logger.info("Adding {} products to cart in one batch", productIds.size());
+            CompletableFuture.allOf(productIds.stream()
+                    .map(productId -> session.getClient().addToCart(
+                            session.getCartCookie(), session.isLoggedIn(), productId))
+                    .toArray(CompletableFuture[]::new)).join();
+            return cartHolds(productIds);
+        } catch (Exception e) {
+            logger.error("Error adding products to cart: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // One /viewcart call confirms the whole batch
+    private boolean cartHolds(List<Integer> productIds) {
+        JsonNode cart = session.getClient().viewCart(session.getCartCookie(), session.isLoggedIn()).join();
+        List<Integer> missing = new ArrayList<>(productIds);
+        for (JsonNode row : cart.path("Items")) {
+            missing.remove(Integer.valueOf(row.path("prod_id").asInt()));
+        }
+        if (!missing.isEmpty()) {
+            logger.warn("Cart is missing products {} after adding them", missing);
+            return false;
+        }
+        logger.info("Products successfully added to cart");
+        return true;
+    }
+
+    @Override
+    public boolean isProductDisplayed() {
+        boolean displayed = session.getCurrentProduct() != null
+                && session.getCurrentProduct().has("title");
+        logger.info("Product page fully displayed: {}", displayed);
+        return displayed;
+    }
+
+    @Override
+    public String getProductDescription() {
+        return currentProduct().path("desc").asText("").trim();
+    }
+
+    private JsonNode currentProduct() {
+        if (session.getCurrentProduct() == null) {
+            throw new IllegalStateException("No product opened");
+        }
+        return session.getCurrentProduct();
+    }
+}
@@ -0,0 +1,100 @@
+package com.demoblaze.pages.http;
+
+import com.demoblaze.data.TestData;
+import com.demoblaze.pages.ProfilePage;
+import com.demoblaze.utils.WebStorage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Profile simulation kept in the session's localStorage stand-in, stored as the same
+ * JSON document the browser implementation writes
+ */
+public class HttpProfilePage implements ProfilePage {
+    private static final Logger logger = LogManager.getLogger(HttpProfilePage.class);
+    private final HttpSession session;
+
+    public HttpProfilePage(HttpSession session) {
+        this.session = session;
+        logger.info("HttpProfilePage initialized");
+    }
+
+    @Override
+    public void setProfile(String fullname, String email) {
+        logger.info("Setting profile data - Fullname: {}, Email: {}", fullname, email);
+        Map<String, String> profile = new LinkedHashMap<>();
+        profile.put("fullname", fullname);
+        profile.put("email", email);
+        write(profile);
+    }
+
+    @Override
+    public void updateProfile(String fullname, String email) {
+        logger.info("Updating profile data - Fullname: {}, Email: {}", fullname, email);
+        Map<String, String> profile = getProfile();
+        profile.put("fullname", fullname);
+        profile.put("email", email);
+        write(profile);
+    }
+
+    @Override
+    public Map<String, String> getProfile() {
+        return WebStorage.parseObject(session.getLocalStorage().get(TestData.ProfileData.PROFILE_KEY));
+    }
+
+    @Override
+    public boolean verifyProfile(String expectedFullname, String expectedEmail) {
+        Map<String, String> currentProfile = getProfile();
+        boolean isValid = expectedFullname.equals(currentProfile.get("fullname"))
+                && expectedEmail.equals(currentProfile.get("email"));
+
+        logger.info("Profile verification result: {}", isValid);
+        if (!isValid) {
+            logger.warn("Profile mismatch - Current: {}, Expected: fullname={}, email={}",
+                    currentProfile, expectedFullname, expectedEmail);
+        }
+        return isValid;
+    }
+
+    @Override
+    public void clearProfile() {
+        logger.info("Clearing profile data");
+        session.getLocalStorage().remove(TestData.ProfileData.PROFILE_KEY);
+    }
+
+    @Override
+    public boolean profileExists() {
+        return !getProfile().isEmpty();
+    }
+
+    @Override
+    public void reloadPage() {
+        // Nothing to reload; the storage stand-in lives as long as the session
+        logger.info("Reloading page (no-op for HTTP backend)");
+    }
+
+    @Override
+    public String getFullname() {
+        return getProfile().getOrDefault("fullname", "");
+    }
+
+    @Override
+    public String getEmail() {
+        return getProfile().getOrDefault("email", "");
+    }
+
+    @Override
+    public void partialUpdate(String field, String value) {
+        logger.info("Partially updating profile - Field: {}, Value: {}", field, value);
+        Map<String, String> profile = getProfile();
+        profile.put(field, value);
+        write(profile);
+    }
+
+    private void write(Map<String, String> profile) {
+        session.getLocalStorage().put(TestData.ProfileData.PROFILE_KEY, WebStorage.toJson(profile));
+    }
+}
@@ -0,0 +1,105 @@
+package com.demoblaze.pages.http;
+
+import com.demoblaze.api.StorefrontClient;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Browser-equivalent state for the HTTP page backend: who is logged in, which cart
+ * the requests belong to and what the "current page" shows. One session corresponds
+ * to one browser session of the UI backend.
+ */
+public class HttpSession {
+    private final StorefrontClient client;
+    private final String visitorId = UUID.randomUUID().toString();
+    private final Map<Integer, Double> catalogPrices = new HashMap<>();
+    private final Map<String, String> localStorage = new HashMap<>();
+
+    private String authToken;
+    private String loggedInUser;
+    private String lastAlert;
+    private List<JsonNode> listedProducts = new ArrayList<>();
+    private JsonNode currentProduct;
+
+    public HttpSession() {
+        this(new StorefrontClient());
+    }
+
+    public HttpSession(StorefrontClient client) {
+        this.client = client;
+    }
+
+    public StorefrontClient getClient() {
+        return client;
+    }
+
+    /**
+     * Cookie value the site sends with cart requests
+     * @return auth token when logged in, otherwise the anonymous visitor id
+     */
+    public String getCartCookie() {
+        return authToken != null ? authToken : visitorId;
+    }
+
+    public boolean isLoggedIn() {
+        return authToken != null;
+    }
+
+    public String getLoggedInUser() {
+        return loggedInUser;
+    }
+
+    void logIn(String username, String token) {
+        this.loggedInUser = username;
+        this.authToken = token;
+    }
+
+    public String getLastAlert() {
+        return lastAlert;
+    }
+
+    void setLastAlert(String lastAlert) {
+        this.lastAlert = lastAlert;
+    }
+
+    List<JsonNode> getListedProducts() {
+        return listedProducts;
+    }
+
+    void setListedProducts(List<JsonNode> listedProducts) {
+        this.listedProducts = listedProducts;
+        for (JsonNode product : listedProducts) {
+            catalogPrices.put(product.path("id").asInt(), product.path("price").asDouble());
+        }
+    }
+
+    /**
+     * Price shown in the product listing, used to cross-check cart prices
+     * @param productId product id
+     * @return listed price, or null if the product was never listed in this session
+     */
+    Double getCatalogPrice(int productId) {
+        return catalogPrices.get(productId);
+    }
+
+    JsonNode getCurrentProduct() {
+        return currentProduct;
+    }
+
+    void setCurrentProduct(JsonNode currentProduct) {
+        this.currentProduct = currentProduct;
+    }
+
+    /**
+     * Stand-in for the browser's localStorage; like the real one it survives page reloads
+     * @return mutable key/value store
+     */
+    Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+}
@@ -0,0 +1,50 @@
+package com.demoblaze.state;
+
+/**
+ * Starting state a browser test needs, ordered by how expensive it is to build from a
+ * clean session
+ */
+public enum BrowserState {
+    /** Any state will do; as a left state, the test does not change it */
+    ANY(0),
+    /** No user logged in, empty cart, nothing in local storage */
+    ANONYMOUS(1),
+    /** Anonymous with a profile stored in localStorage */
+    PROFILE_STORED(2),
+    /** Configured user logged in */
+    LOGGED_IN(3),
+    /** Anonymous with at least one product in the cart */
+    CART_FILLED(3),
+    /** Left by a failed test; never satisfies a requirement */
+    UNKNOWN(0);
+
+    private final int setupCost;
+
+    BrowserState(int setupCost) {
+        this.setupCost = setupCost;
+    }
+
+    /**
+     * @return relative cost of building this state: a reset plus the UI steps
+     */
+    public int getSetupCost() {
+        return setupCost;
+    }
+
+    /**
+     * @param current state the session is in
+     * @return true if a test requiring this state can run without a transition
+     */
+    public boolean isSatisfiedBy(BrowserState current) {
+        return this == ANY || (this != UNKNOWN && this == current);
+    }
+
+    /**
+     * @param before state before the test
+     * @param left state the test declared it leaves
+     * @return state after the test
+     */
+    public static BrowserState after(BrowserState before, BrowserState left) {
+        return left == ANY ? before : left;
+    }
+}
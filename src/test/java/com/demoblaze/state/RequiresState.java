@@ -0,0 +1,26 @@
+package com.demoblaze.state;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the browser state a test starts from and the state it leaves behind.
+ * {@link com.demoblaze.listeners.StateAwareScheduler} orders tests so consecutive ones
+ * share state, and {@link StateManager} builds the state only when the session is not
+ * already in it. On a class it applies to every test method without its own annotation.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresState {
+    /**
+     * @return state the test needs before it starts
+     */
+    BrowserState value() default BrowserState.ANY;
+
+    /**
+     * @return state the test leaves the session in; ANY means unchanged
+     */
+    BrowserState leaves() default BrowserState.ANY;
+}
@@ -0,0 +1,147 @@
+package com.demoblaze.state;
+
+import com.demoblaze.api.AccountPool;
+import com.demoblaze.data.TestData;
+import com.demoblaze.pages.Pages;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the {@link BrowserState} of each driver session and moves a session into the
+ * state a test declared with {@link RequiresState}. A session already in a compatible
+ * state is left alone; otherwise cookies and storage are cleared and the state is
+ * rebuilt through the page objects. New sessions start {@link BrowserState#ANONYMOUS};
+ * HTTP sessions, which are new for every test, get their state built the same way.
+ */
+public final class StateManager {
+    private static final Logger logger = LogManager.getLogger(StateManager.class);
+    private static final Map<WebDriver, BrowserState> states = new ConcurrentHashMap<>();
+
+    private StateManager() {
+    }
+
+    /**
+     * @param method test method
+     * @return declared starting state, from the method or its class; ANY if undeclared
+     */
+    public static BrowserState required(Method method) {
+        RequiresState declared = declaration(method);
+        return declared != null ? declared.value() : BrowserState.ANY;
+    }
+
+    /**
+     * @param method test method
+     * @return declared left state; ANY (unchanged) if undeclared
+     */
+    public static BrowserState leaves(Method method) {
+        RequiresState declared = declaration(method);
+        return declared != null ? declared.leaves() : BrowserState.ANY;
+    }
+
+    private static RequiresState declaration(Method method) {
+        RequiresState declared = method.getAnnotation(RequiresState.class);
+        return declared != null ? declared : method.getDeclaringClass().getAnnotation(RequiresState.class);
+    }
+
+    /**
+     * @param driver driver session
+     * @return tracked state of the session
+     */
+    public static BrowserState current(WebDriver driver) {
+        return states.getOrDefault(driver, BrowserState.ANONYMOUS);
+    }
+
+    /**
+     * Bring a session into the required state, rebuilding it only if needed
+     * @param driver driver session, already on the home page
+     * @param pages page objects bound to the session
+     * @param baseUrl storefront base URL
+     * @param required state the next test needs
+     */
+    public static void prepare(WebDriver driver, Pages pages, String baseUrl, BrowserState required) {
+        BrowserState current = current(driver);
+        if (required.isSatisfiedBy(current)) {
+            logger.debug("Session already in state {} (required {})", current, required);
+            return;
+        }
+
+        logger.info("Moving session from state {} to {}", current, required);
+        reset(driver, baseUrl);
+        build(pages, required);
+        if (required == BrowserState.CART_FILLED) {
+            // Filling the cart leaves the cart page
+            driver.get(baseUrl);
+        }
+        states.put(driver, required);
+    }
+
+    /**
+     * Build the required state on a new HTTP session, which starts anonymous
+     * @param pages page objects bound to the session
+     * @param required state the next test needs
+     */
+    public static void prepare(Pages pages, BrowserState required) {
+        if (!required.isSatisfiedBy(BrowserState.ANONYMOUS)) {
+            logger.info("Building state {} on a new API session", required);
+            build(pages, required);
+        }
+    }
+
+    private static void build(Pages pages, BrowserState required) {
+        switch (required) {
+            case LOGGED_IN:
+                AccountPool.Account account = AccountPool.getInstance().lease();
+                String username = account.getUsername();
+                String password = account.getPassword();
+                if (!pages.login().restoreSession(username, password)) {
+                    pages.home().clickLogin();
+                    if (!pages.login().login(username, password)) {
+                        throw new IllegalStateException("Could not log in to prepare state " + required);
+                    }
+                }
+                break;
+            case CART_FILLED:
+                if (!pages.product().addAllToCart(Collections.singletonList(TestData.Products.SAMSUNG_GALAXY_S6))) {
+                    throw new IllegalStateException("Could not fill the cart to prepare state " + required);
+                }
+                break;
+            case PROFILE_STORED:
+                pages.profile().setProfile(TestData.ProfileData.INITIAL_FULLNAME, TestData.ProfileData.INITIAL_EMAIL);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Record the outcome of a test on a session
+     * @param driver driver session
+     * @param left state the test declared it leaves
+     * @param passed false marks the state unknown, so the next test rebuilds it
+     */
+    public static void record(WebDriver driver, BrowserState left, boolean passed) {
+        states.put(driver, passed ? BrowserState.after(current(driver), left) : BrowserState.UNKNOWN);
+    }
+
+    /**
+     * Stop tracking a session before its driver quits
+     * @param driver driver session
+     */
+    public static void forget(WebDriver driver) {
+        states.remove(driver);
+    }
+
+    // Deleting the cookies also drops the anonymous cart, which is keyed by a cookie
+    private static void reset(WebDriver driver, String baseUrl) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        driver.get(baseUrl);
+    }
+}
@@ -3,6 +3,8 @@ package com.demoblaze.tests;
 import com.demoblaze.base.BaseTest;
 import com.demoblaze.data.TestData;
 import com.demoblaze.pages.HomePage;
+import com.demoblaze.state.BrowserState;
+import com.demoblaze.state.RequiresState;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -15,6 +17,7 @@ import java.util.Set;
 import java.util.HashSet;
 
 @Epic("Category Management")
+@RequiresState(BrowserState.ANY)
 public class CategoryTest extends BaseTest {
 
     @Feature("Category Existence")
@@ -23,7 +26,7 @@ public class CategoryTest extends BaseTest {
     public void testCategoriesExist() {
         logger.info("Starting categories existence test");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = pages.home();
 
         // Verify each expected category is displayed
         for (String category : TestData.Categories.EXPECTED_CATEGORIES) {
@@ -42,7 +45,7 @@ public class CategoryTest extends BaseTest {
     public void testCategoryProductsDisplay() {
         logger.info("Starting category products display test");
 
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = pages.home();
 
         for (String category : TestData.Categories.EXPECTED_CATEGORIES) {
             logger.info("Testing category: {}", category);
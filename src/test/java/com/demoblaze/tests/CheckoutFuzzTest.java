@@ -0,0 +1,66 @@
+package com.demoblaze.tests;
+
+import com.demoblaze.api.CatalogIndex;
+import com.demoblaze.fuzz.BrowserSessionPool;
+import com.demoblaze.fuzz.CheckoutFuzzer;
+import com.demoblaze.fuzz.CheckoutGenerator;
+import com.demoblaze.fuzz.CheckoutProperty;
+import com.demoblaze.fuzz.Shrinker;
+import com.demoblaze.utils.CassetteProxy;
+import com.demoblaze.utils.ConfigReader;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Epic("Checkout Fuzzing")
+public class CheckoutFuzzTest {
+    private static final Logger logger = LogManager.getLogger(CheckoutFuzzTest.class);
+
+    @Feature("Checkout Invariants")
+    @Test(groups = "fuzz", description = "Check cart total and order confirmation invariants for generated checkouts")
+    public void testCheckoutInvariants() throws Exception {
+        ConfigReader config = ConfigReader.getInstance();
+        CassetteProxy.startIfEnabled();
+
+        long seed = config.getFuzzSeed();
+        if (seed == 0) {
+            seed = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE / 2);
+        }
+
+        String baseUrl = CassetteProxy.resolve(config.getBaseUrl());
+        BrowserSessionPool browsers = config.getFuzzBrowsers() > 0
+                ? new BrowserSessionPool(config.getFuzzBrowsers(), config.getBrowser(), baseUrl)
+                : null;
+        CheckoutFuzzer.Result result;
+        try {
+            CheckoutFuzzer fuzzer = new CheckoutFuzzer(
+                    new CheckoutGenerator(CatalogIndex.getInstance().names(), config.getFuzzMaxProducts()),
+                    new CheckoutProperty(browsers, baseUrl),
+                    config.getFuzzThreads(),
+                    config.getFuzzShrinkRounds(),
+                    config.getFuzzMaxReported());
+            result = fuzzer.run(seed, config.getFuzzCases(),
+                    Duration.ofSeconds(config.getFuzzTimeBudgetSeconds()));
+        } finally {
+            if (browsers != null) {
+                browsers.close();
+            }
+        }
+
+        StringBuilder report = new StringBuilder();
+        for (Shrinker.Failure failure : result.getFailures()) {
+            report.append("\n  ").append(failure.getViolation()).append("\n    ").append(failure.getCheckout());
+        }
+        logger.info("Fuzzing with base seed {} ran {} cases", result.getBaseSeed(), result.getExecuted());
+
+        Assert.assertTrue(result.getExecuted() > 0, "At least one checkout case should run");
+        Assert.assertEquals(result.getFailed(), 0, result.getFailed() + " of " + result.getExecuted()
+                + " checkout cases failed (rerun with -Dfuzz.seed=" + result.getBaseSeed() + "); shrunk:" + report);
+    }
+}
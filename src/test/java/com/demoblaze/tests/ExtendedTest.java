@@ -6,6 +6,8 @@ import com.demoblaze.model.PurchaseData;
 import com.demoblaze.pages.CartPage;
 import com.demoblaze.pages.HomePage;
 import com.demoblaze.pages.ProductPage;
+import com.demoblaze.state.BrowserState;
+import com.demoblaze.state.RequiresState;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -13,6 +15,9 @@ import io.qameta.allure.SeverityLevel;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Epic("Cart and Product Operations")
 public class ExtendedTest extends BaseTest {
 
@@ -20,11 +25,12 @@ public class ExtendedTest extends BaseTest {
     @Feature("Checkout Validation")
     @Severity(SeverityLevel.CRITICAL)
     @Test(description = "Verify checkout without products shows validation")
+    @RequiresState(BrowserState.ANONYMOUS)
     public void testCheckoutWithoutProducts() {
         logger.info("Starting checkout without products test");
 
-        HomePage homePage = new HomePage(driver);
-        CartPage cartPage = new CartPage(driver);
+        HomePage homePage = pages.home();
+        CartPage cartPage = pages.cart();
 
         // Go directly to cart without adding products
         homePage.goToCart();
@@ -51,42 +57,31 @@ public class ExtendedTest extends BaseTest {
     @Feature("Cart Operations")
     @Severity(SeverityLevel.NORMAL)
     @Test(description = "Test cart operations and validations")
-    public void testCartOperations() throws InterruptedException {
+    @RequiresState(BrowserState.CART_FILLED)
+    public void testCartOperations() {
         logger.info("Starting cart operations test");
 
-        HomePage homePage = new HomePage(driver);
-        ProductPage productPage = new ProductPage(driver);
-        CartPage cartPage = new CartPage(driver);
+        HomePage homePage = pages.home();
+        ProductPage productPage = pages.product();
+        CartPage cartPage = pages.cart();
 
-        // Add multiple different products
-        String[] products = {
+        // Add multiple different products in one batch
+        List<String> products = Arrays.asList(
                 TestData.Products.SAMSUNG_GALAXY_S6,
                 TestData.Products.NEXUS_6
-        };
-
-        for (String product : products) {
-            homePage.clickCategory(TestData.Categories.PHONES);
-            homePage.clickProduct(product);
-            Assert.assertTrue(productPage.addToCart(),
-                    "Product " + product + " should be added to cart");
-            Thread.sleep(2000); // Wait for modal to close
+        );
 
-            homePage.goToHome();
-        }
+        // Also checks that the cart holds every product
+        Assert.assertTrue(productPage.addAllToCart(products),
+                "Products " + products + " should be added to cart");
 
-        // Go to cart
         homePage.goToCart();
-        cartPage.waitForCartToLoad();
-
-        // Verify multiple items
         int initialItemCount = cartPage.getCartItemCount();
-        Assert.assertTrue(initialItemCount >= 2, "Cart should contain multiple items");
+        // CART_FILLED starts with one product, plus the two added above
+        Assert.assertEquals(initialItemCount, 3, "Cart should contain the filled item and both added products");
 
-        // Test delete functionality
+        // Test delete functionality; the count waits until the cart has been re-rendered
         cartPage.deleteFirstItem();
-        cartPage.waitForCartToLoad();
-
-        Thread.sleep(2000);
 
         // Verify item was deleted (count should decrease)
         int afterDeleteCount = cartPage.getCartItemCount();
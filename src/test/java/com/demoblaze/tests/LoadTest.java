@@ -0,0 +1,89 @@
+package com.demoblaze.tests;
+
+import com.demoblaze.load.FlowStats;
+import com.demoblaze.load.LoadRunner;
+import com.demoblaze.load.StorefrontFlows;
+import com.demoblaze.load.ThinkTime;
+import com.demoblaze.load.VirtualUserFlow;
+import com.demoblaze.utils.CassetteProxy;
+import com.demoblaze.utils.ConfigReader;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Epic("Load Generation")
+public class LoadTest {
+    private static final Logger logger = LogManager.getLogger(LoadTest.class);
+    private static final String PUBLIC_DOMAIN = "demoblaze.com";
+
+    @Feature("Virtual Users")
+    @Parameters({"browser"})
+    @Test(groups = "load", description = "Run storefront flows as concurrent virtual users and report percentiles")
+    public void testStorefrontLoad(@Optional("chrome") String browser) throws Exception {
+        ConfigReader config = ConfigReader.getInstance();
+
+        String target = loadTarget(config);
+        List<VirtualUserFlow> flows = StorefrontFlows.byNames(config.getLoadFlows());
+        if (flows.stream().anyMatch(flow -> "login".equals(flow.getName()))
+                && config.getAccountPoolSize() < config.getLoadUsers()) {
+            throw new IllegalStateException("The login flow needs one test account per virtual user; run with"
+                    + " -Daccount.pool.size=" + config.getLoadUsers() + " or leave login out of load.flows");
+        }
+
+        // With cassette.mode=replay the virtual users hit the local replay proxy as stand-in
+        CassetteProxy.startIfEnabled();
+
+        LoadRunner runner = new LoadRunner(
+                flows,
+                config.getLoadUsers(),
+                Duration.ofSeconds(config.getLoadRampUpSeconds()),
+                Duration.ofSeconds(config.getLoadDurationSeconds()),
+                ThinkTime.parse(config.getLoadThinkTime()),
+                browser,
+                CassetteProxy.resolve(target));
+
+        Map<String, FlowStats> stats = runner.run();
+        runner.writeReport(Paths.get("reports", "load-report.csv"));
+
+        int completed = stats.values().stream().mapToInt(FlowStats::getCompleted).sum();
+        logger.info("Load run completed {} flow iterations", completed);
+        Assert.assertTrue(completed > 0, "At least one flow iteration should complete");
+    }
+
+    /**
+     * Pick the URL virtual users start from, refusing to load the public storefront unless
+     * load.allow.public is set. In replay mode nothing leaves the machine, so base.url may
+     * stand in; in record mode the proxy forwards everything to base.url, so that is the host
+     * actually loaded.
+     */
+    private static String loadTarget(ConfigReader config) {
+        String mode = config.getCassetteMode();
+        String target = config.getLoadBaseUrl();
+        if ("replay".equals(mode)) {
+            return target.isEmpty() ? config.getBaseUrl() : target;
+        }
+        if (target.isEmpty()) {
+            throw new IllegalStateException("No load target: set load.base.url to a stand-in of the storefront"
+                    + " or run with -Dcassette.mode=replay");
+        }
+        String loadedHost = URI.create("record".equals(mode) ? config.getBaseUrl() : target).getHost();
+        boolean isPublic = loadedHost != null && (loadedHost.equalsIgnoreCase(PUBLIC_DOMAIN)
+                || loadedHost.toLowerCase().endsWith("." + PUBLIC_DOMAIN));
+        if (isPublic && !config.isLoadPublicAllowed()) {
+            throw new IllegalStateException("Refusing to generate load against the public storefront " + loadedHost
+                    + "; point load.base.url at a stand-in or pass -Dload.allow.public=true");
+        }
+        return target;
+    }
+}
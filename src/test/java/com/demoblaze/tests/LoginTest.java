@@ -4,6 +4,8 @@ import com.demoblaze.base.BaseTest;
 import com.demoblaze.data.TestData;
 import com.demoblaze.pages.HomePage;
 import com.demoblaze.pages.LoginPage;
+import com.demoblaze.state.BrowserState;
+import com.demoblaze.state.RequiresState;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -17,41 +19,57 @@ public class LoginTest extends BaseTest {
     @Feature("Valid Login")
     @Severity(SeverityLevel.CRITICAL)
     @Test(description = "Verify successful login with valid credentials")
+    @RequiresState(value = BrowserState.ANONYMOUS, leaves = BrowserState.LOGGED_IN)
     public void testValidLogin() {
         logger.info("Starting valid login test");
 
-        HomePage homePage = new HomePage(driver);
-        LoginPage loginPage = new LoginPage(driver);
+        HomePage homePage = pages.home();
+        LoginPage loginPage = pages.login();
 
         // Click login button to open modal
         homePage.clickLogin();
 
-        // Attempt login
-        boolean loginSuccess = loginPage.login(
-                TestData.Credentials.VALID_USERNAME,
-                TestData.Credentials.VALID_PASSWORD
-        );
+        // Attempt login with this worker's account
+        boolean loginSuccess = loginPage.login(account.getUsername(), account.getPassword());
 
         if (!loginSuccess) {
-            // If login failed, it means the environment doesn't accept admin/admin
-            logger.warn("Environment does not accept admin/admin credentials - documenting as finding");
-            Assert.fail("Environment does not accept admin/admin - documented as site finding");
+            // If login failed, it means the environment doesn't accept the test account
+            logger.warn("Environment does not accept credentials of {} - documenting as finding", account.getUsername());
+            Assert.fail("Environment does not accept " + account.getUsername() + " - documented as site finding");
         } else {
             // Verify successful login
-            boolean isLoggedIn = homePage.isUserLoggedIn(TestData.Credentials.VALID_USERNAME);
+            boolean isLoggedIn = homePage.isUserLoggedIn(account.getUsername());
             Assert.assertTrue(isLoggedIn, "User should be logged in after successful login");
             logger.info("Valid login test completed successfully");
         }
     }
 
+    @Feature("Session Persistence")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(description = "Verify a logged-in session survives returning to the home page")
+    @RequiresState(BrowserState.LOGGED_IN)
+    public void testLoginPersistsAcrossPages() {
+        logger.info("Starting login persistence test");
+
+        HomePage homePage = pages.home();
+
+        // Reload the storefront; the session cookie alone has to keep the user logged in
+        homePage.goToHome();
+
+        Assert.assertTrue(homePage.isUserLoggedIn(account.getUsername()),
+                "User should stay logged in after reloading the home page");
+        logger.info("Login persistence test completed successfully");
+    }
+
     @Feature("Invalid Login")
     @Severity(SeverityLevel.NORMAL)
     @Test(description = "Verify login failure with invalid credentials")
+    @RequiresState(BrowserState.ANONYMOUS)
     public void testInvalidLogin() {
         logger.info("Starting invalid login test");
 
-        HomePage homePage = new HomePage(driver);
-        LoginPage loginPage = new LoginPage(driver);
+        HomePage homePage = pages.home();
+        LoginPage loginPage = pages.login();
 
         // Click login button to open modal
         homePage.clickLogin();
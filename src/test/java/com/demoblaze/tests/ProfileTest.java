@@ -3,6 +3,8 @@ package com.demoblaze.tests;
 import com.demoblaze.base.BaseTest;
 import com.demoblaze.data.TestData;
 import com.demoblaze.pages.ProfilePage;
+import com.demoblaze.state.BrowserState;
+import com.demoblaze.state.RequiresState;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -16,10 +18,11 @@ public class ProfileTest extends BaseTest {
     @Feature("Profile Persistence")
     @Severity(SeverityLevel.CRITICAL)
     @Test(description = "Verify profile changes persist between page reloads")
+    @RequiresState(leaves = BrowserState.PROFILE_STORED)
     public void testProfilePersistence() {
         logger.info("Starting profile persistence test");
 
-        ProfilePage profilePage = new ProfilePage(driver);
+        ProfilePage profilePage = pages.profile();
 
         // Set initial profile data
         profilePage.setProfile(
@@ -6,6 +6,8 @@ import com.demoblaze.model.PurchaseData;
 import com.demoblaze.pages.CartPage;
 import com.demoblaze.pages.HomePage;
 import com.demoblaze.pages.ProductPage;
+import com.demoblaze.state.BrowserState;
+import com.demoblaze.state.RequiresState;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Severity;
@@ -21,12 +23,13 @@ public class PurchaseTest extends BaseTest {
     @Feature("Complete Purchase")
     @Severity(SeverityLevel.CRITICAL)
     @Test(description = "Complete purchase flow - add product to cart and checkout")
+    @RequiresState(value = BrowserState.ANONYMOUS, leaves = BrowserState.ANONYMOUS)
     public void testCompletePurchaseFlow() {
         logger.info("Starting complete purchase flow test");
 
-        HomePage homePage = new HomePage(driver);
-        ProductPage productPage = new ProductPage(driver);
-        CartPage cartPage = new CartPage(driver);
+        HomePage homePage = pages.home();
+        ProductPage productPage = pages.product();
+        CartPage cartPage = pages.cart();
 
         // Navigate to Phones category
         homePage.clickCategory(TestData.Categories.PHONES);
@@ -62,4 +65,29 @@ public class PurchaseTest extends BaseTest {
         logger.info("Complete purchase flow test completed successfully");
         logger.info("Order confirmation: {}", confirmationMessage);
     }
-}
\ No newline at end of file
+
+    @Feature("Complete Purchase")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(description = "Checkout of a cart that already holds a product")
+    @RequiresState(value = BrowserState.CART_FILLED, leaves = BrowserState.ANONYMOUS)
+    public void testCheckoutOfFilledCart() {
+        logger.info("Starting filled cart checkout test");
+
+        HomePage homePage = pages.home();
+        CartPage cartPage = pages.cart();
+
+        homePage.goToCart();
+        cartPage.waitForCartToLoad();
+        Assert.assertTrue(cartPage.hasItems(), "Cart should contain items");
+        Assert.assertTrue(cartPage.validateTotal(), "Cart total should match sum of item prices");
+
+        String confirmationMessage = cartPage.completePurchase(TestData.getDefaultPurchaseData());
+
+        Assert.assertNotNull(confirmationMessage, "Confirmation message should not be null");
+        Pattern orderIdPattern = Pattern.compile(TestData.Messages.ORDER_CONFIRMATION_PATTERN);
+        Assert.assertTrue(orderIdPattern.matcher(confirmationMessage).find(),
+                "Confirmation message should contain order ID");
+
+        logger.info("Filled cart checkout test completed successfully");
+    }
+}
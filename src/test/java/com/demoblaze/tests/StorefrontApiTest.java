@@ -0,0 +1,68 @@
+package com.demoblaze.tests;
+
+import com.demoblaze.base.BaseApiTest;
+import com.demoblaze.data.TestData;
+import com.demoblaze.pages.CartPage;
+import com.demoblaze.pages.HomePage;
+import com.demoblaze.pages.LoginPage;
+import com.demoblaze.pages.ProductPage;
+import io.qameta.allure.Epic;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Epic("Storefront API")
+public class StorefrontApiTest extends BaseApiTest {
+
+    @Feature("Category Product Display")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(groups = "api", description = "Verify each category returns products without a browser")
+    public void testCategoryContents() {
+        HomePage homePage = pages.home();
+
+        for (String category : TestData.Categories.EXPECTED_CATEGORIES) {
+            homePage.clickCategory(category);
+            Assert.assertTrue(homePage.getProductCount() > 0,
+                    "Category '" + category + "' should return at least one product");
+        }
+    }
+
+    @Feature("Invalid Login")
+    @Severity(SeverityLevel.NORMAL)
+    @Test(groups = "api", description = "Verify the login endpoint rejects invalid credentials")
+    public void testInvalidLoginRejected() {
+        LoginPage loginPage = pages.login();
+        HomePage homePage = pages.home();
+
+        homePage.clickLogin();
+        loginPage.waitForModalToBeVisible();
+        loginPage.enterUsername(TestData.Credentials.INVALID_USERNAME);
+        loginPage.enterPassword(TestData.Credentials.INVALID_PASSWORD);
+        loginPage.clickLoginButton();
+
+        Assert.assertNotNull(loginPage.handleAlert(), "Rejected login should report an error message");
+        Assert.assertFalse(homePage.isUserLoggedIn(TestData.Credentials.INVALID_USERNAME));
+    }
+
+    @Feature("Cart Operations")
+    @Severity(SeverityLevel.CRITICAL)
+    @Test(groups = "api", description = "Verify cart total matches listed prices without a browser")
+    public void testCartTotal() {
+        HomePage homePage = pages.home();
+        ProductPage productPage = pages.product();
+        CartPage cartPage = pages.cart();
+
+        for (String product : new String[]{TestData.Products.SAMSUNG_GALAXY_S6, TestData.Products.NEXUS_6}) {
+            homePage.clickCategory(TestData.Categories.PHONES);
+            homePage.clickProduct(product);
+            Assert.assertTrue(productPage.addToCart(), "Product " + product + " should be added to cart");
+            homePage.goToHome();
+        }
+
+        homePage.goToCart();
+        Assert.assertEquals(cartPage.getCartItemCount(), 2, "Cart should contain both products");
+        Assert.assertTrue(cartPage.validateTotal(), "Cart total should match sum of listed prices");
+    }
+}
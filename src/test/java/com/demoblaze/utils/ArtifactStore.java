@@ -0,0 +1,273 @@
+package com.demoblaze.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed store for test artifacts (screenshots, page dumps, logs).
+ * <p>
+ * Blobs are named after the SHA-256 of their content, so identical artifacts are
+ * written once no matter how many tests produce them. Text artifacts are gzipped.
+ * An append-only index file maps test results to blobs, and a retention policy
+ * drops old index entries, unreferenced blobs and old HTML reports.
+ * <p>
+ * Several JVMs (surefire forks) may share the store. Index appends hold a shared lock
+ * on a lock file and retention an exclusive one, so no entry is lost while the index is
+ * rewritten. A blob is written before the entry referencing it, so retention only
+ * deletes unreferenced blobs and temp files older than retention.blob.min.age.minutes;
+ * reusing a blob refreshes its age.
+ */
+public class ArtifactStore {
+    private static final Logger logger = LogManager.getLogger(ArtifactStore.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String INDEX_FILE = "index.jsonl";
+    private static final String LOCK_FILE = ".lock";
+    private static ArtifactStore instance;
+
+    private final Path root;
+    private final Path blobs;
+    private final Path index;
+    private boolean retentionApplied;
+
+    private ArtifactStore(Path root) {
+        this.root = root;
+        this.blobs = root.resolve("blobs");
+        this.index = root.resolve(INDEX_FILE);
+    }
+
+    /**
+     * Get the store configured by artifacts.dir
+     * @return shared artifact store
+     */
+    public static synchronized ArtifactStore getInstance() {
+        if (instance == null) {
+            instance = new ArtifactStore(Paths.get(ConfigReader.getInstance().getArtifactsDir()));
+        }
+        return instance;
+    }
+
+    /**
+     * Store an artifact, reusing the existing blob if the same content was stored before
+     * @param content artifact bytes
+     * @param extension file extension without dot, e.g. png
+     * @param compress true to gzip the blob (use for text, not for already compressed formats)
+     * @return blob path
+     * @throws IOException if the blob cannot be written
+     */
+    public Path put(byte[] content, String extension, boolean compress) throws IOException {
+        String hash = sha256(content);
+        String fileName = hash + "." + extension + (compress ? ".gz" : "");
+        Path blob = blobs.resolve(hash.substring(0, 2)).resolve(fileName);
+
+        if (Files.exists(blob)) {
+            logger.debug("Artifact {} already stored, reusing blob", fileName);
+            try {
+                Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+                return blob;
+            } catch (IOException e) {
+                // Deleted by retention meanwhile; write it again
+            }
+        }
+
+        Files.createDirectories(blob.getParent());
+        Path temp = Files.createTempFile(blob.getParent(), hash, ".tmp");
+        try (OutputStream out = compress
+                ? new GZIPOutputStream(Files.newOutputStream(temp))
+                : Files.newOutputStream(temp)) {
+            out.write(content);
+        }
+        // Another worker may have written the same blob meanwhile; both copies are identical
+        Files.move(temp, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.debug("Stored artifact {}", blob);
+        return blob;
+    }
+
+    /**
+     * Record which artifact belongs to which test result
+     * @param testName fully qualified test name, e.g. com.demoblaze.tests.LoginTest#testValidLogin
+     * @param status test status, e.g. FAILURE
+     * @param kind artifact kind, e.g. screenshot
+     * @param blob blob path returned by {@link #put}
+     */
+    public void index(String testName, String status, String kind, Path blob) {
+        index(testName, status, kind, blob, null);
+    }
+
+    /**
+     * Record which artifact belongs to which test result, and when its content was captured
+     * @param testName fully qualified test name, e.g. com.demoblaze.tests.LoginTest#testValidLogin
+     * @param status test status, e.g. FAILURE
+     * @param kind artifact kind, e.g. snapshot
+     * @param blob blob path returned by {@link #put}
+     * @param capturedAt capture time of content that does not carry its own, or null
+     */
+    public synchronized void index(String testName, String status, String kind, Path blob, Instant capturedAt) {
+        ObjectNode entry = mapper.createObjectNode();
+        entry.put("time", Instant.now().toString());
+        entry.put("test", testName);
+        entry.put("status", status);
+        entry.put("kind", kind);
+        entry.put("blob", root.relativize(blob).toString());
+        if (capturedAt != null) {
+            entry.put("capturedAt", capturedAt.toString());
+        }
+
+        try {
+            Files.createDirectories(root);
+            try (FileChannel channel = openLock(); FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+                Files.write(index, (mapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not update artifact index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply the retention policy once per JVM: drop index entries older than
+     * retention.days, delete blobs no longer referenced and keep only the newest
+     * retention.reports.keep HTML reports and rolled log archives
+     * @param reportsDir directory holding HTML reports and logs
+     */
+    public synchronized void applyRetention(Path reportsDir) {
+        if (retentionApplied) {
+            return;
+        }
+        retentionApplied = true;
+
+        ConfigReader config = ConfigReader.getInstance();
+        Instant cutoff = Instant.now().minus(config.getRetentionDays(), ChronoUnit.DAYS);
+        Instant blobCutoff = Instant.now().minus(config.getRetentionBlobMinAgeMinutes(), ChronoUnit.MINUTES);
+
+        try {
+            int deletedBlobs;
+            Files.createDirectories(root);
+            try (FileChannel channel = openLock(); FileLock ignored = channel.lock()) {
+                Set<String> referenced = pruneIndex(cutoff);
+                deletedBlobs = deleteUnreferencedBlobs(referenced, blobCutoff);
+            }
+            int deletedReports = keepNewest(reportsDir, "DemoblazeTestReport_*.html", config.getRetentionReportsKeep());
+            int deletedLogs = keepNewest(reportsDir, "demoblaze-tests-*.log.gz", config.getRetentionReportsKeep());
+            logger.info("Retention removed {} blobs, {} reports and {} log archives",
+                    deletedBlobs, deletedReports, deletedLogs);
+        } catch (IOException e) {
+            logger.warn("Could not apply artifact retention: {}", e.getMessage());
+        }
+    }
+
+    private Set<String> pruneIndex(Instant cutoff) throws IOException {
+        Set<String> referenced = new HashSet<>();
+        if (!Files.exists(index)) {
+            return referenced;
+        }
+
+        List<String> kept = new ArrayList<>();
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            try {
+                JsonNode entry = mapper.readTree(line);
+                if (Instant.parse(entry.path("time").asText()).isAfter(cutoff)) {
+                    kept.add(line);
+                    referenced.add(entry.path("blob").asText());
+                }
+            } catch (Exception e) {
+                logger.debug("Dropping unreadable index line: {}", line);
+            }
+        }
+
+        Path temp = Files.createTempFile(root, "index", ".tmp");
+        Files.write(temp, kept, StandardCharsets.UTF_8);
+        Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return referenced;
+    }
+
+    private FileChannel openLock() throws IOException {
+        return FileChannel.open(root.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Younger files may be blobs or temp files of a put() whose index entry is yet to come
+    private int deleteUnreferencedBlobs(Set<String> referenced, Instant cutoff) throws IOException {
+        if (!Files.exists(blobs)) {
+            return 0;
+        }
+        List<Path> unreferenced;
+        try (Stream<Path> files = Files.walk(blobs)) {
+            unreferenced = files.filter(Files::isRegularFile)
+                    .filter(blob -> !referenced.contains(root.relativize(blob).toString()))
+                    .filter(blob -> lastModified(blob) < cutoff.toEpochMilli())
+                    .collect(Collectors.toList());
+        }
+        for (Path blob : unreferenced) {
+            Files.deleteIfExists(blob);
+        }
+        return unreferenced.size();
+    }
+
+    private static int keepNewest(Path dir, String glob, int keep) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return 0;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            stream.forEach(files::add);
+        }
+        if (files.size() <= keep) {
+            return 0;
+        }
+        files.sort(Comparator.comparing(ArtifactStore::lastModified).reversed());
+        List<Path> expired = files.subList(keep, files.size());
+        for (Path file : expired) {
+            Files.deleteIfExists(file);
+        }
+        return expired.size();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
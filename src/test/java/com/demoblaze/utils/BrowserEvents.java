@@ -0,0 +1,271 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.BrowsingContextInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.module.Script;
+import org.openqa.selenium.bidi.script.ChannelValue;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Subscribes to WebDriver BiDi events (user prompts, network responses and DOM
+ * mutations) for a driver session. Waits created through {@link #newWait(String)}
+ * re-check their condition as soon as one of these events arrives instead of
+ * sleeping a fixed polling interval. When the session has no BiDi connection the
+ * waits behave exactly like a plain {@link WebDriverWait}.
+ */
+public class BrowserEvents {
+    private static final Logger logger = LogManager.getLogger(BrowserEvents.class);
+    private static final Map<WebDriver, BrowserEvents> sessions = new ConcurrentHashMap<>();
+    private static final String DOM_CHANNEL = "dmz-dom";
+
+    // Coalesces DOM mutations and CSS transitions into at most one message per frame
+    private static final String DOM_OBSERVER_SCRIPT =
+            "(channel) => {" +
+            "  let pending = false;" +
+            "  const notify = () => {" +
+            "    if (pending) { return; }" +
+            "    pending = true;" +
+            "    setTimeout(() => { pending = false; channel('mutation'); }, 16);" +
+            "  };" +
+            "  new MutationObserver(notify).observe(document," +
+            "      {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "  document.addEventListener('transitionend', notify, true);" +
+            "  document.addEventListener('animationend', notify, true);" +
+            "}";
+
+    private final WebDriver driver;
+    private final Duration fallbackPoll;
+    private final Object signal = new Object();
+    private final AtomicLong version = new AtomicLong();
+
+    private BrowsingContextInspector contextInspector;
+    private Network network;
+    private Script script;
+    private boolean active;
+
+    private BrowserEvents(WebDriver driver, Duration fallbackPoll) {
+        this.driver = driver;
+        this.fallbackPoll = fallbackPoll;
+    }
+
+    /**
+     * Subscribe to browser events for a newly created driver
+     * @param driver driver created with BiDi enabled
+     */
+    public static void attach(WebDriver driver) {
+        ConfigReader config = ConfigReader.getInstance();
+        BrowserEvents events = new BrowserEvents(driver, Duration.ofMillis(config.getBidiFallbackPollMillis()));
+        if (config.isBidiEnabled()) {
+            events.subscribe();
+        }
+        sessions.put(driver, events);
+    }
+
+    /**
+     * Get the event layer for a driver
+     * @param driver driver instance
+     * @return attached event layer, or a polling-only one if the driver was never attached
+     */
+    public static BrowserEvents of(WebDriver driver) {
+        BrowserEvents events = sessions.get(driver);
+        return events != null ? events : new BrowserEvents(driver, Duration.ofMillis(500));
+    }
+
+    /**
+     * Unsubscribe from browser events before the driver quits
+     * @param driver driver instance
+     */
+    public static void detach(WebDriver driver) {
+        BrowserEvents events = sessions.remove(driver);
+        if (events != null) {
+            events.close();
+        }
+    }
+
+    private void subscribe() {
+        if (!(driver instanceof HasBiDi) || !((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+            logger.info("BiDi not available for this session; waits fall back to polling");
+            return;
+        }
+
+        try {
+            contextInspector = new BrowsingContextInspector(driver);
+            contextInspector.onUserPromptOpened(prompt -> {
+                logger.debug("User prompt opened: {}", prompt.getMessage());
+                fire();
+            });
+            contextInspector.onBrowsingContextLoaded(navigation -> fire());
+
+            SessionTrace trace = SessionTrace.current();
+            network = new Network(driver);
+            network.onResponseCompleted(response -> {
+                trace.record("network", response.getResponseData().getStatus() + " "
+                        + response.getRequest().getMethod() + " " + response.getRequest().getUrl());
+                fire();
+            });
+            network.onFetchError(error -> {
+                trace.record("network", "failed " + error.getRequest().getMethod() + " "
+                        + error.getRequest().getUrl() + ": " + error.getErrorText());
+                fire();
+            });
+
+            script = new Script(driver);
+            script.addPreloadScript(DOM_OBSERVER_SCRIPT,
+                    Collections.singletonList(new ChannelValue(DOM_CHANNEL)));
+            script.addPreloadScript(PageSync.NETWORK_SHIM_PRELOAD);
+            script.onMessage(message -> {
+                if (DOM_CHANNEL.equals(message.getChannel())) {
+                    fire();
+                }
+            });
+
+            active = true;
+            logger.info("Subscribed to BiDi prompt, network and DOM events");
+        } catch (RuntimeException e) {
+            logger.warn("Could not subscribe to BiDi events, falling back to polling: {}", e.getMessage());
+            close();
+        }
+    }
+
+    private void fire() {
+        version.incrementAndGet();
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Check if event subscriptions are live for this session
+     * @return true if waits are event driven
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Create a wait whose polling sleeps end early on any browser event
+     * @param timeout maximum time to wait
+     * @return wait bound to this session
+     */
+    public WebDriverWait newWait(Duration timeout) {
+        return newWait(null, timeout, Duration.ofMillis(500), true);
+    }
+
+    /**
+     * Create a wait for a named action, timed by {@link WaitPolicy}
+     * @param action action name, "page.what" by convention
+     * @return wait bound to this session whose duration feeds the action's latency history
+     */
+    public WebDriverWait newWait(String action) {
+        WaitPolicy.Timing timing = WaitPolicy.getInstance().timingFor(action);
+        return newWait(action, timing.getTimeout(), timing.getPoll(), true);
+    }
+
+    /**
+     * Create a wait for a named action that may legitimately never happen, e.g. an error
+     * alert. Only waits that end with the condition met feed the latency history, so
+     * timeouts do not push the learned timeout up to its cap.
+     * @param action action name, "page.what" by convention
+     * @return wait bound to this session
+     */
+    public WebDriverWait newOptionalWait(String action) {
+        WaitPolicy.Timing timing = WaitPolicy.getInstance().timingFor(action);
+        return newWait(action, timing.getTimeout(), timing.getPoll(), false);
+    }
+
+    private WebDriverWait newWait(String action, Duration timeout, Duration poll, boolean recordTimeouts) {
+        if (!active) {
+            return new TimedWait(driver, action, timeout, poll, Sleeper.SYSTEM_SLEEPER, recordTimeouts);
+        }
+        return new TimedWait(driver, action, timeout, fallbackPoll, new EventSleeper(), recordTimeouts);
+    }
+
+    private void close() {
+        active = false;
+        try {
+            if (script != null) {
+                script.close();
+            }
+            if (network != null) {
+                network.close();
+            }
+            if (contextInspector != null) {
+                contextInspector.close();
+            }
+        } catch (Exception e) {
+            logger.debug("Error closing BiDi subscriptions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sleeper that returns as soon as a browser event arrives. Events fired while the
+     * wait was evaluating its condition end the next sleep immediately.
+     */
+    private class EventSleeper implements Sleeper {
+        private long seen = version.get();
+
+        @Override
+        public void sleep(Duration duration) throws InterruptedException {
+            long deadline = System.nanoTime() + duration.toNanos();
+            synchronized (signal) {
+                while (version.get() == seen) {
+                    long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    signal.wait(remaining);
+                }
+            }
+            seen = version.get();
+        }
+    }
+
+    /**
+     * Records every wait, including timeouts, in {@link Metrics#WAITS} and, for named
+     * actions, in the {@link WaitPolicy} latency history (timeouts only if recordTimeouts)
+     */
+    private static class TimedWait extends WebDriverWait {
+        private final String action;
+        private final boolean recordTimeouts;
+
+        TimedWait(WebDriver driver, String action, Duration timeout, Duration poll, Sleeper sleeper,
+                  boolean recordTimeouts) {
+            super(driver, timeout, poll, Clock.systemDefaultZone(), sleeper);
+            this.action = action;
+            this.recordTimeouts = recordTimeouts;
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            long start = Metrics.WAITS.start();
+            boolean satisfied = false;
+            try {
+                V value = super.until(isTrue);
+                satisfied = true;
+                return value;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                Metrics.WAITS.observeNanos(nanos);
+                if (action != null && (satisfied || recordTimeouts)) {
+                    WaitPolicy.getInstance().record(action, nanos);
+                }
+                SessionTrace.current().record("wait", (action != null ? action : isTrue.toString())
+                        + (satisfied ? " ok " : " timed out ") + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Watchdog for local browser sessions. Each session created by {@link DriverManager} is
+ * tracked with its driver service process (chromedriver, geckodriver, msedgedriver) and
+ * the browser processes below it, refreshed every reaper.interval.seconds. Processes
+ * that outlive {@link DriverManager#quitDriver()}, sessions whose owning thread has died
+ * without quitting, and everything still tracked at suite end or JVM shutdown are killed
+ * and reported with their resident memory. Tracked PIDs are also written to
+ * reaper.pid.dir, so the next run kills what a JVM that was itself killed left behind.
+ */
+public final class BrowserReaper {
+    private static final Logger logger = LogManager.getLogger(BrowserReaper.class);
+    private static BrowserReaper instance;
+
+    private final Map<Thread, Session> sessions = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long graceMillis;
+    private final Path pidFile;
+    private ScheduledExecutorService watchdog;
+
+    private static final class Session {
+        final Thread owner;
+        final WebDriver driver;
+        final Set<ProcessHandle> processes = ConcurrentHashMap.newKeySet();
+
+        Session(Thread owner, WebDriver driver) {
+            this.owner = owner;
+            this.driver = driver;
+        }
+
+        // Browsers re-parent to init once their driver service dies, so remember them early
+        void refresh() {
+            for (ProcessHandle process : new ArrayList<>(processes)) {
+                process.descendants().forEach(processes::add);
+            }
+        }
+    }
+
+    private BrowserReaper(ConfigReader config) {
+        enabled = config.isReaperEnabled();
+        graceMillis = TimeUnit.SECONDS.toMillis(config.getReaperQuitGraceSeconds());
+        Path pidDir = Paths.get(config.getReaperPidDir());
+        pidFile = pidDir.resolve(ProcessHandle.current().pid() + ".pids");
+        if (enabled) {
+            reapPreviousRuns(pidDir);
+        }
+    }
+
+    public static synchronized BrowserReaper getInstance() {
+        if (instance == null) {
+            instance = new BrowserReaper(ConfigReader.getInstance());
+            if (instance.enabled) {
+                instance.startWatchdog(ConfigReader.getInstance().getReaperIntervalSeconds());
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> instance.reapAll("JVM shutdown"), "browser-reaper"));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start tracking the processes of a local session owned by the current thread
+     * @param rawDriver undecorated local driver
+     */
+    public void track(WebDriver rawDriver) {
+        if (!enabled) {
+            return;
+        }
+        Session session = new Session(Thread.currentThread(), rawDriver);
+        driverService(rawDriver).ifPresent(session.processes::add);
+        session.refresh();
+        sessions.put(session.owner, session);
+        logger.debug("Tracking {} processes of session on {}", session.processes.size(), session.owner.getName());
+        writePidFile();
+    }
+
+    /**
+     * Stop tracking the current thread's session after it quit; processes still running
+     * after reaper.quit.grace.seconds are killed and reported as leaked
+     */
+    public void untrack() {
+        if (!enabled) {
+            return;
+        }
+        Session session = sessions.remove(Thread.currentThread());
+        if (session == null) {
+            return;
+        }
+        session.refresh();
+        awaitExit(session.processes);
+        kill(session.processes, "outlived quit on " + session.owner.getName());
+        writePidFile();
+    }
+
+    /**
+     * Measure the memory of every tracked session
+     * @return per session, the summed proportional set size of its processes in KB
+     *         (resident size where PSS is not available); empty when /proc is not available
+     */
+    public List<Long> sessionMemoryKb() {
+        List<Long> usage = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            long total = 0;
+            for (ProcessHandle process : session.processes) {
+                long kb = process.isAlive() ? proportionalKb(process.pid()) : 0;
+                if (kb < 0) {
+                    return new ArrayList<>();
+                }
+                total += kb;
+            }
+            usage.add(total);
+        }
+        return usage;
+    }
+
+    /**
+     * Quit and kill sessions whose owning thread has ended; their driver is unreachable
+     * through DriverManager's ThreadLocal
+     * @return number of sessions reaped
+     */
+    public int reapOrphans() {
+        int reaped = 0;
+        for (Session session : new ArrayList<>(sessions.values())) {
+            if (session.owner.isAlive()) {
+                session.refresh();
+                continue;
+            }
+            sessions.remove(session.owner);
+            logger.warn("Thread {} ended without quitting its browser session", session.owner.getName());
+            reap(session, "orphaned by " + session.owner.getName());
+            reaped++;
+        }
+        if (reaped > 0) {
+            writePidFile();
+        }
+        return reaped;
+    }
+
+    /**
+     * Quit and kill every tracked session, e.g. when the suite is over
+     * @param reason logged with the report
+     */
+    public void reapAll(String reason) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        logger.warn("{} browser sessions still open at {}", sessions.size(), reason);
+        for (Session session : new ArrayList<>(sessions.values())) {
+            sessions.remove(session.owner);
+            reap(session, reason);
+        }
+        writePidFile();
+    }
+
+    private void reap(Session session, String reason) {
+        session.refresh();
+        try {
+            session.driver.quit();
+            Metrics.ACTIVE_SESSIONS.dec();
+        } catch (Exception e) {
+            logger.debug("Quitting leaked session failed: {}", e.getMessage());
+        }
+        awaitExit(session.processes);
+        kill(session.processes, reason);
+    }
+
+    private void startWatchdog(int intervalSeconds) {
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "browser-reaper-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(() -> {
+            try {
+                reapOrphans();
+            } catch (Exception e) {
+                logger.warn("Browser watchdog check failed: {}", e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void awaitExit(Collection<ProcessHandle> processes) {
+        try {
+            CompletableFuture.allOf(processes.stream()
+                            .filter(ProcessHandle::isAlive)
+                            .map(ProcessHandle::onExit)
+                            .toArray(CompletableFuture[]::new))
+                    .get(graceMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Survivors are killed by the caller
+        }
+    }
+
+    private static void kill(Collection<ProcessHandle> processes, String reason) {
+        List<ProcessHandle> alive = processes.stream().filter(ProcessHandle::isAlive).collect(Collectors.toList());
+        if (alive.isEmpty()) {
+            return;
+        }
+        long rssKb = 0;
+        List<String> names = new ArrayList<>();
+        for (ProcessHandle process : alive) {
+            rssKb += Math.max(0, residentKb(process.pid()));
+            names.add(command(process) + " " + process.pid());
+        }
+        // ProcessHandle remembers the start time, so a reused PID is never killed
+        alive.forEach(ProcessHandle::destroyForcibly);
+        Metrics.LEAKED_PROCESSES.add(alive.size());
+        logger.warn("Killed {} leaked browser processes ({}): {} MB resident; {}",
+                alive.size(), reason, rssKb / 1024, names);
+    }
+
+    // The driver service runs as a child of this JVM, listening on the port the driver talks to
+    private static Optional<ProcessHandle> driverService(WebDriver rawDriver) {
+        if (!(rawDriver instanceof RemoteWebDriver)
+                || !(((RemoteWebDriver) rawDriver).getCommandExecutor() instanceof HttpCommandExecutor)) {
+            return Optional.empty();
+        }
+        int port = ((HttpCommandExecutor) ((RemoteWebDriver) rawDriver).getCommandExecutor())
+                .getAddressOfRemoteServer().getPort();
+        String portArgument = "--port=" + port;
+        return ProcessHandle.current().children()
+                .filter(child -> child.info().arguments()
+                        .map(arguments -> List.of(arguments).contains(portArgument))
+                        .orElse(false))
+                .findFirst();
+    }
+
+    private synchronized void writePidFile() {
+        Set<String> lines = new LinkedHashSet<>();
+        for (Session session : sessions.values()) {
+            for (ProcessHandle process : session.processes) {
+                process.info().startInstant().ifPresent(start -> lines.add(process.pid() + " " + start.toEpochMilli()));
+            }
+        }
+        try {
+            if (lines.isEmpty()) {
+                Files.deleteIfExists(pidFile);
+                return;
+            }
+            Files.createDirectories(pidFile.getParent());
+            Path temp = Files.createTempFile(pidFile.getParent(), "pids", ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, pidFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.debug("Could not write {}: {}", pidFile, e.getMessage());
+        }
+    }
+
+    // PID files of JVMs that are gone list processes nobody will quit any more
+    private static void reapPreviousRuns(Path pidDir) {
+        if (!Files.isDirectory(pidDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(pidDir, "*.pids")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long jvmPid = Long.parseLong(name.substring(0, name.length() - ".pids".length()));
+                if (ProcessHandle.of(jvmPid).map(ProcessHandle::isAlive).orElse(false)) {
+                    continue;
+                }
+                List<ProcessHandle> leftovers = new ArrayList<>();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    String[] fields = line.trim().split(" ");
+                    if (fields.length == 2) {
+                        ProcessHandle.of(Long.parseLong(fields[0]))
+                                .filter(process -> process.info().startInstant()
+                                        .map(Instant::toEpochMilli)
+                                        .map(start -> start == Long.parseLong(fields[1]))
+                                        .orElse(false))
+                                .ifPresent(leftovers::add);
+                    }
+                }
+                kill(leftovers, "left by terminated JVM " + jvmPid);
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Could not reap processes of previous runs: {}", e.getMessage());
+        }
+    }
+
+    private static String command(ProcessHandle process) {
+        return process.info().command().map(path -> Paths.get(path).getFileName().toString()).orElse("?");
+    }
+
+    // Browser processes share libraries and renderer memory; PSS splits shared pages between them
+    private static long proportionalKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "smaps_rollup"))) {
+                if (line.startsWith("Pss:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Kernel before 4.14, not Linux, or the process is gone
+        }
+        return residentKb(pid);
+    }
+
+    /**
+     * @param pid process id
+     * @return resident set size in KB from /proc, or -1 where /proc is not available
+     */
+    static long residentKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, or the process is gone
+        }
+        return -1;
+    }
+}
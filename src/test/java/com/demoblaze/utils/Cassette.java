@@ -0,0 +1,263 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recorded HTTP exchanges stored in a compact indexed file.
+ * <p>
+ * Layout: magic, version, entry count, then a fixed-size index of
+ * (key hash, sequence, data offset) sorted by hash and sequence, then the entries
+ * (key, status, content type, body). Replay memory-maps the file and binary-searches
+ * the index, so lookups do not depend on cassette size. Requests repeated with the same
+ * key are served in recorded order; the last response repeats once they run out.
+ */
+public class Cassette {
+    private static final Logger logger = LogManager.getLogger(Cassette.class);
+    private static final int MAGIC = 0x444D5A43; // "DMZC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final int INDEX_ENTRY_SIZE = 20;
+
+    private final List<Entry> recorded = new ArrayList<>();
+    private final Map<String, AtomicInteger> replayCursors = new ConcurrentHashMap<>();
+    private MappedByteBuffer mapped;
+    private int entryCount;
+
+    private Cassette() {
+    }
+
+    /**
+     * Create an empty cassette for recording
+     * @return recording cassette
+     */
+    public static Cassette forRecording() {
+        return new Cassette();
+    }
+
+    /**
+     * Memory-map an existing cassette for replay
+     * @param path cassette file
+     * @return replay cassette
+     * @throws IOException if the file cannot be read or is not a cassette
+     */
+    public static Cassette open(Path path) throws IOException {
+        Cassette cassette = new Cassette();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            cassette.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (cassette.mapped.getInt(0) != MAGIC || cassette.mapped.getInt(4) != VERSION) {
+            throw new IOException("Not a cassette file: " + path);
+        }
+        cassette.entryCount = cassette.mapped.getInt(8);
+        logger.info("Opened cassette {} with {} recorded exchanges", path, cassette.entryCount);
+        return cassette;
+    }
+
+    /**
+     * Add an exchange while recording
+     * @param key normalized request key
+     * @param status response status
+     * @param contentType response content type, may be null
+     * @param body response body
+     */
+    public synchronized void record(String key, int status, String contentType, byte[] body) {
+        recorded.add(new Entry(key, recorded.size(), status, contentType == null ? "" : contentType, body));
+    }
+
+    /**
+     * Write recorded exchanges to disk
+     * @param path target file
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path path) throws IOException {
+        List<Entry> sorted = new ArrayList<>(recorded);
+        sorted.sort(Comparator.comparingLong((Entry entry) -> hash(entry.key)).thenComparingInt(entry -> entry.sequence));
+
+        List<byte[]> encoded = new ArrayList<>(sorted.size());
+        for (Entry entry : sorted) {
+            encoded.add(entry.encode());
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+
+            long offset = HEADER_SIZE + (long) INDEX_ENTRY_SIZE * sorted.size();
+            for (int i = 0; i < sorted.size(); i++) {
+                out.writeLong(hash(sorted.get(i).key));
+                out.writeInt(sorted.get(i).sequence);
+                out.writeLong(offset);
+                offset += encoded.get(i).length;
+            }
+            for (byte[] data : encoded) {
+                out.write(data);
+            }
+        }
+        logger.info("Saved cassette {} with {} exchanges", path, sorted.size());
+    }
+
+    /**
+     * Find the next recorded response for a request key
+     * @param key normalized request key
+     * @return recorded response, or null if the request was never recorded
+     */
+    public Response lookup(String key) {
+        long keyHash = hash(key);
+        int first = firstIndexOf(keyHash);
+        if (first < 0) {
+            return null;
+        }
+
+        // Collect the entries with this exact key (hash collisions are filtered here)
+        List<Integer> matches = new ArrayList<>();
+        for (int i = first; i < entryCount && indexHash(i) == keyHash; i++) {
+            if (key.equals(readKey(indexOffset(i)))) {
+                matches.add(i);
+            }
+        }
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        int cursor = replayCursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        return readResponse(indexOffset(matches.get(Math.min(cursor, matches.size() - 1))));
+    }
+
+    private int firstIndexOf(long keyHash) {
+        int low = 0;
+        int high = entryCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midHash = indexHash(mid);
+            if (midHash < keyHash) {
+                low = mid + 1;
+            } else {
+                if (midHash == keyHash) {
+                    found = mid;
+                }
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private long indexHash(int i) {
+        return mapped.getLong(HEADER_SIZE + i * INDEX_ENTRY_SIZE);
+    }
+
+    private int indexOffset(int i) {
+        return (int) mapped.getLong(HEADER_SIZE + i * INDEX_ENTRY_SIZE + 12);
+    }
+
+    private String readKey(int offset) {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(offset);
+        return readString(buffer);
+    }
+
+    private Response readResponse(int offset) {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(offset);
+        readString(buffer);
+        int status = buffer.getInt();
+        String contentType = readString(buffer);
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new Response(status, contentType, body);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Recorded response served during replay
+     */
+    public static class Response {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        Response(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    private static class Entry {
+        private final String key;
+        private final int sequence;
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+
+        Entry(String key, int sequence, int status, String contentType, byte[] body) {
+            this.key = key;
+            this.sequence = sequence;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        byte[] encode() {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            byte[] typeBytes = contentType.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.allocate(16 + keyBytes.length + typeBytes.length + body.length);
+            buffer.putInt(keyBytes.length).put(keyBytes);
+            buffer.putInt(status);
+            buffer.putInt(typeBytes.length).put(typeBytes);
+            buffer.putInt(body.length).put(body);
+            return buffer.array();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.demoblaze.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Local record/replay proxy for the storefront.
+ * <p>
+ * The browser is pointed at {@code http://localhost:<port>/} instead of demoblaze.com.
+ * Pages and assets are forwarded to the configured base URL, and a script injected into
+ * every HTML page rewrites api.demoblaze.com calls to {@code /__api/} on the same origin.
+ * In record mode all exchanges are forwarded upstream and stored in a {@link Cassette};
+ * in replay mode they are served from the cassette only, so runs are fully offline.
+ */
+public class CassetteProxy {
+    private static final Logger logger = LogManager.getLogger(CassetteProxy.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String API_UPSTREAM = "https://api.demoblaze.com";
+    private static final String API_PREFIX = "/__api";
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final String API_REWRITE_SCRIPT =
+            "<script>(function() {" +
+            "var api = '" + API_UPSTREAM + "', local = location.origin + '" + API_PREFIX + "';" +
+            "var open = XMLHttpRequest.prototype.open;" +
+            "XMLHttpRequest.prototype.open = function(method, url) {" +
+            "  if (typeof url === 'string' && url.indexOf(api) === 0) { arguments[1] = local + url.substring(api.length); }" +
+            "  return open.apply(this, arguments);" +
+            "};" +
+            "if (window.fetch) {" +
+            "  var originalFetch = window.fetch;" +
+            "  window.fetch = function(url, init) {" +
+            "    if (typeof url === 'string' && url.indexOf(api) === 0) { url = local + url.substring(api.length); }" +
+            "    return originalFetch.call(this, url, init);" +
+            "  };" +
+            "}" +
+            "})();</script>";
+
+    private static CassetteProxy instance;
+
+    private final String mode;
+    private final Path cassettePath;
+    private final String siteUpstream;
+    private final Cassette cassette;
+    private final HttpClient httpClient;
+    private HttpServer server;
+
+    private CassetteProxy(String mode, Path cassettePath, String siteUpstream) throws IOException {
+        this.mode = mode;
+        this.cassettePath = cassettePath;
+        this.siteUpstream = siteUpstream.replaceAll("/+$", "");
+        this.cassette = "replay".equals(mode) ? Cassette.open(cassettePath) : Cassette.forRecording();
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Start the proxy once per JVM when cassette.mode is record or replay
+     */
+    public static synchronized void startIfEnabled() {
+        String mode = ConfigReader.getInstance().getCassetteMode();
+        if ("record".equals(mode) || "replay".equals(mode)) {
+            start(mode);
+        }
+    }
+
+    /**
+     * Start the proxy once per JVM in the given mode, regardless of cassette.mode
+     * @param mode record or replay
+     */
+    public static synchronized void start(String mode) {
+        if (instance != null) {
+            if (!instance.mode.equals(mode)) {
+                throw new IllegalStateException("Cassette proxy already running in " + instance.mode + " mode");
+            }
+            return;
+        }
+        if (!"record".equals(mode) && !"replay".equals(mode)) {
+            throw new IllegalArgumentException("Cassette mode not supported: " + mode);
+        }
+
+        ConfigReader config = ConfigReader.getInstance();
+        try {
+            CassetteProxy proxy = new CassetteProxy(mode, Paths.get(config.getCassettePath()), config.getBaseUrl());
+            proxy.start();
+            instance = proxy;
+            Runtime.getRuntime().addShutdownHook(new Thread(proxy::stop, "cassette-proxy-shutdown"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start cassette proxy in " + mode + " mode", e);
+        }
+    }
+
+    /**
+     * Map a storefront URL to the proxy when a cassette mode is active
+     * @param url storefront URL, e.g. https://www.demoblaze.com/cart.html
+     * @return proxied URL, or the URL unchanged when no cassette mode is active
+     */
+    public static String resolve(String url) {
+        if (instance == null) {
+            return url;
+        }
+        URI uri = URI.create(url);
+        String pathAndQuery = (uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath())
+                + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        return "http://localhost:" + instance.server.getAddress().getPort() + pathAndQuery;
+    }
+
+    /**
+     * Map the storefront API base URL to the proxy's API route when a cassette mode is active
+     * @param apiUrl API base URL, e.g. https://api.demoblaze.com
+     * @return proxied API base URL, or the URL unchanged when no cassette mode is active
+     */
+    public static String resolveApi(String apiUrl) {
+        if (instance == null) {
+            return apiUrl;
+        }
+        return "http://localhost:" + instance.server.getAddress().getPort() + API_PREFIX;
+    }
+
+    private void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cassette-proxy");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        logger.info("Cassette proxy in {} mode listening on port {} ({})",
+                mode, server.getAddress().getPort(), cassettePath);
+    }
+
+    private void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if ("record".equals(mode)) {
+            try {
+                cassette.save(cassettePath);
+            } catch (IOException e) {
+                logger.error("Could not save cassette {}: {}", cassettePath, e.getMessage());
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String pathAndQuery = exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : "");
+            byte[] requestBody = readAll(exchange.getRequestBody());
+            String key = method + " " + pathAndQuery + "\n" + normalizeBody(requestBody);
+
+            Cassette.Response response;
+            if ("replay".equals(mode)) {
+                response = cassette.lookup(key);
+                if (response == null) {
+                    logger.warn("Cassette miss: {} {}", method, pathAndQuery);
+                    response = new Cassette.Response(404, "text/plain", "Not recorded".getBytes(StandardCharsets.UTF_8));
+                }
+            } else {
+                response = forward(method, pathAndQuery, requestBody, exchange.getRequestHeaders().getFirst("Content-Type"));
+                cassette.record(key, response.getStatus(), response.getContentType(), response.getBody());
+            }
+
+            send(exchange, response);
+        } catch (Exception e) {
+            logger.error("Cassette proxy error for {}: {}", exchange.getRequestURI(), e.getMessage());
+            send(exchange, new Cassette.Response(502, "text/plain", e.toString().getBytes(StandardCharsets.UTF_8)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Cassette.Response forward(String method, String pathAndQuery, byte[] body, String contentType)
+            throws IOException, InterruptedException {
+        String target = pathAndQuery.startsWith(API_PREFIX + "/")
+                ? API_UPSTREAM + pathAndQuery.substring(API_PREFIX.length())
+                : siteUpstream + pathAndQuery;
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Cassette.Response(response.statusCode(),
+                response.headers().firstValue("Content-Type").orElse(""),
+                response.body());
+    }
+
+    private void send(HttpExchange exchange, Cassette.Response response) throws IOException {
+        byte[] body = response.getBody();
+        if (response.getContentType().startsWith("text/html")) {
+            body = injectRewriteScript(body);
+        }
+        if (!response.getContentType().isEmpty()) {
+            exchange.getResponseHeaders().set("Content-Type", response.getContentType());
+        }
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(response.getStatus(), body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static byte[] injectRewriteScript(byte[] html) {
+        String page = new String(html, StandardCharsets.UTF_8);
+        int head = page.indexOf("<head>");
+        if (head < 0) {
+            return html;
+        }
+        int insertAt = head + "<head>".length();
+        return (page.substring(0, insertAt) + API_REWRITE_SCRIPT + page.substring(insertAt))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Strip per-run values (generated ids, cart cookies, auth tokens) from JSON bodies so
+     * the same logical request gets the same key in every run
+     */
+    static String normalizeBody(byte[] body) {
+        if (body.length == 0) {
+            return "";
+        }
+        String text = new String(body, StandardCharsets.UTF_8);
+        try {
+            JsonNode json = mapper.readTree(text);
+            if (json instanceof ObjectNode) {
+                ObjectNode object = (ObjectNode) json;
+                Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if ("cookie".equals(field.getKey()) || "token".equals(field.getKey())
+                            || UUID_PATTERN.matcher(field.getValue().asText()).find()) {
+                        field.setValue(mapper.getNodeFactory().textNode("*"));
+                    }
+                }
+                return mapper.writeValueAsString(object);
+            }
+        } catch (IOException e) {
+            // Not JSON: use the raw body
+        }
+        return text;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            return input.readAllBytes();
+        }
+    }
+}
@@ -146,6 +146,26 @@ public class ConfigReader {
         }
     }
 
+    /**
+     * Get decimal property with default value
+     * @param key property key
+     * @param defaultValue default value
+     * @return decimal property value or default
+     */
+    public double getDoubleProperty(String key, double defaultValue) {
+        String value = getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Could not parse decimal property '{}' with value '{}', returning default {}",
+                    key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     // Convenience methods for common properties
 
     /**
@@ -172,6 +192,19 @@ public class ConfigReader {
         return getBooleanProperty("headless", false);
     }
 
+    /**
+     * Get default execution mode for page objects. A system property overrides the config file;
+     * when neither sets it, sessions go to the grid if one is configured
+     * @return browser, remote-browser, http or replay
+     */
+    public String getExecutionMode() {
+        String mode = System.getProperty("execution.mode", getProperty("execution.mode", "")).trim();
+        if (mode.isEmpty()) {
+            return isGridEnabled() ? "remote-browser" : "browser";
+        }
+        return mode;
+    }
+
     /**
      * Get explicit wait timeout in seconds
      * @return timeout in seconds
@@ -196,6 +229,65 @@ public class ConfigReader {
         return getIntProperty("page.load.timeout", 30);
     }
 
+    // Wait policy configuration
+
+    /**
+     * Check if wait timeouts are learned from previous runs' latencies
+     * @return true if the adaptive wait policy is enabled
+     */
+    public boolean isWaitPolicyEnabled() {
+        return Boolean.parseBoolean(System.getProperty("wait.policy.enabled",
+                String.valueOf(getBooleanProperty("wait.policy.enabled", true))));
+    }
+
+    /**
+     * Get file the per-action wait latencies are kept in between runs
+     * @return history file path
+     */
+    public String getWaitPolicyHistoryFile() {
+        return getProperty("wait.policy.history.file", "reports/wait-history.json");
+    }
+
+    /**
+     * Get latency percentile a learned timeout is based on
+     * @return percentile, e.g. 99.9
+     */
+    public double getWaitPolicyPercentile() {
+        return getDoubleProperty("wait.policy.percentile", 99.9);
+    }
+
+    /**
+     * Get factor the percentile latency is multiplied by
+     * @return safety factor
+     */
+    public double getWaitPolicySafetyFactor() {
+        return getDoubleProperty("wait.policy.safety.factor", 3.0);
+    }
+
+    /**
+     * Get number of samples an action needs before its timeout is learned
+     * @return minimum samples
+     */
+    public int getWaitPolicyMinSamples() {
+        return getIntProperty("wait.policy.min.samples", 50);
+    }
+
+    /**
+     * Get number of most recent samples kept per action
+     * @return maximum samples
+     */
+    public int getWaitPolicyMaxSamples() {
+        return getIntProperty("wait.policy.max.samples", 500);
+    }
+
+    /**
+     * Get lower bound of a learned timeout
+     * @return minimum timeout in milliseconds
+     */
+    public int getWaitPolicyMinTimeoutMillis() {
+        return getIntProperty("wait.policy.min.timeout.ms", 2000);
+    }
+
     // Additional convenience methods for Demoblaze specific configuration
 
     /**
@@ -254,6 +346,31 @@ public class ConfigReader {
         return getBooleanProperty("screenshot.on.failure", true);
     }
 
+    /**
+     * Check if failures capture a compressed DOM and state snapshot
+     * @return true if snapshots are enabled
+     */
+    public boolean isFailureSnapshotEnabled() {
+        return getBooleanProperty("failure.snapshot.enabled", true);
+    }
+
+    /**
+     * Get when failures take a screenshot
+     * @return always, throttled or off
+     */
+    public String getFailureScreenshotMode() {
+        return System.getProperty("failure.screenshot.mode",
+                getProperty("failure.screenshot.mode", "throttled")).trim().toLowerCase();
+    }
+
+    /**
+     * Get minimum time between two failure screenshots in throttled mode
+     * @return interval in seconds
+     */
+    public int getFailureScreenshotIntervalSeconds() {
+        return getIntProperty("failure.screenshot.min.interval.seconds", 30);
+    }
+
     /**
      * Get retry count for failed tests
      * @return number of retries for failed tests
@@ -285,4 +402,560 @@ public class ConfigReader {
     public String getTestDataPath() {
         return getProperty("testdata.path", "src/test/resources/testdata/");
     }
-}
\ No newline at end of file
+
+    // Selenium Grid configuration
+
+    /**
+     * Get Selenium Grid hub URL. A system property overrides the config file
+     * @return hub URL, or empty string when tests should run on local drivers
+     */
+    public String getGridUrl() {
+        return System.getProperty("grid.url", getProperty("grid.url", "")).trim();
+    }
+
+    /**
+     * Check if a Selenium Grid hub URL is configured
+     * @return true if drivers should be created remotely
+     */
+    public boolean isGridEnabled() {
+        return !getGridUrl().isEmpty();
+    }
+
+    /**
+     * Get path to the selenium-server jar used by the local grid launcher
+     * @return path to selenium-server jar, or empty string if not configured
+     */
+    public String getGridServerJar() {
+        return System.getProperty("grid.server.jar", getProperty("grid.server.jar", "")).trim();
+    }
+
+    /**
+     * Get number of local nodes the launcher should start. 0 disables the local launcher
+     * @return number of local grid nodes
+     */
+    public int getGridLocalNodes() {
+        return Integer.parseInt(System.getProperty("grid.local.nodes",
+                String.valueOf(getIntProperty("grid.local.nodes", 0))));
+    }
+
+    /**
+     * Get maximum concurrent sessions per local node
+     * @return sessions per node
+     */
+    public int getGridSessionsPerNode() {
+        return getIntProperty("grid.node.max.sessions", 2);
+    }
+
+    /**
+     * Get how long a new session request may wait in the grid queue, in seconds
+     * @return session request timeout
+     */
+    public int getGridSessionRequestTimeout() {
+        return getIntProperty("grid.session.request.timeout", 300);
+    }
+
+    /**
+     * Get interval between node utilization samples, in seconds
+     * @return sampling interval
+     */
+    public int getGridMetricsInterval() {
+        return getIntProperty("grid.metrics.interval", 10);
+    }
+
+    // WebDriver BiDi configuration
+
+    /**
+     * Check if sessions should open a BiDi connection for event-driven waits
+     * @return true if BiDi events are enabled
+     */
+    public boolean isBidiEnabled() {
+        return Boolean.parseBoolean(System.getProperty("bidi.enabled",
+                String.valueOf(getBooleanProperty("bidi.enabled", true))));
+    }
+
+    /**
+     * Get polling interval used by event-driven waits when no event arrives, in milliseconds
+     * @return fallback polling interval
+     */
+    public int getBidiFallbackPollMillis() {
+        return getIntProperty("bidi.fallback.poll.ms", 500);
+    }
+
+    /**
+     * Get how long the network must stay quiet before a page counts as idle, in milliseconds
+     * @return network idle quiet window
+     */
+    public int getNetworkIdleQuietMillis() {
+        return getIntProperty("network.idle.quiet.ms", 100);
+    }
+
+    // Record/replay configuration
+
+    /**
+     * Get cassette mode for storefront traffic
+     * @return off, record or replay
+     */
+    public String getCassetteMode() {
+        return System.getProperty("cassette.mode", getProperty("cassette.mode", "off")).trim().toLowerCase();
+    }
+
+    /**
+     * Get cassette file used for recording and replay
+     * @return cassette file path
+     */
+    public String getCassettePath() {
+        return System.getProperty("cassette.path", getProperty("cassette.path", "cassettes/storefront.cassette"));
+    }
+
+    // Artifact store configuration
+
+    /**
+     * Get root directory of the content-addressed artifact store
+     * @return artifact store directory
+     */
+    public String getArtifactsDir() {
+        return getProperty("artifacts.dir", "reports/artifacts");
+    }
+
+    /**
+     * Get number of days artifact index entries are kept
+     * @return retention in days
+     */
+    public int getRetentionDays() {
+        return getIntProperty("retention.days", 14);
+    }
+
+    /**
+     * Get number of HTML reports and rolled log archives to keep
+     * @return number of newest files kept
+     */
+    public int getRetentionReportsKeep() {
+        return getIntProperty("retention.reports.keep", 20);
+    }
+
+    /**
+     * Get minimum age of an unreferenced blob or temp file before retention deletes it
+     * @return age in minutes
+     */
+    public int getRetentionBlobMinAgeMinutes() {
+        return getIntProperty("retention.blob.min.age.minutes", 60);
+    }
+
+    // Load generation configuration
+
+    /**
+     * Get URL virtual users run against, e.g. a local stand-in of the storefront
+     * @return load target URL, empty when none is configured
+     */
+    public String getLoadBaseUrl() {
+        return System.getProperty("load.base.url", getProperty("load.base.url", "")).trim();
+    }
+
+    /**
+     * Check if load runs may target the public storefront
+     * @return true only when explicitly allowed
+     */
+    public boolean isLoadPublicAllowed() {
+        return Boolean.parseBoolean(System.getProperty("load.allow.public",
+                String.valueOf(getBooleanProperty("load.allow.public", false))));
+    }
+
+    /**
+     * Get number of concurrent virtual users
+     * @return virtual user count
+     */
+    public int getLoadUsers() {
+        return Integer.parseInt(System.getProperty("load.users", String.valueOf(getIntProperty("load.users", 5))));
+    }
+
+    /**
+     * Get time over which virtual users are started, in seconds
+     * @return ramp-up duration
+     */
+    public int getLoadRampUpSeconds() {
+        return getIntProperty("load.rampup.seconds", 30);
+    }
+
+    /**
+     * Get how long all virtual users keep running after ramp-up, in seconds
+     * @return steady-state duration
+     */
+    public int getLoadDurationSeconds() {
+        return Integer.parseInt(System.getProperty("load.duration.seconds",
+                String.valueOf(getIntProperty("load.duration.seconds", 120))));
+    }
+
+    /**
+     * Get think-time model between iterations
+     * @return think-time spec, e.g. exponential:2000
+     */
+    public String getLoadThinkTime() {
+        return getProperty("load.think.time", "exponential:2000");
+    }
+
+    /**
+     * Get flows executed by each virtual user
+     * @return comma separated flow names
+     */
+    public String getLoadFlows() {
+        return System.getProperty("load.flows", getProperty("load.flows", "login,purchase,profile"));
+    }
+
+    // Browser profile template configuration
+
+    /**
+     * Check if local sessions start from a clone of the warm profile template
+     * @return true if profile templates are enabled
+     */
+    public boolean isProfileTemplateEnabled() {
+        return Boolean.parseBoolean(System.getProperty("profile.template.enabled",
+                getProperty("profile.template.enabled", "false")));
+    }
+
+    /**
+     * Get directory holding the per-browser profile templates
+     * @return profile template directory
+     */
+    public String getProfileTemplateDir() {
+        return getProperty("profile.template.dir", "profiles");
+    }
+
+    /**
+     * Get age after which a profile template is seeded again
+     * @return max template age in hours
+     */
+    public int getProfileTemplateMaxAgeHours() {
+        return getIntProperty("profile.template.max.age.hours", 24);
+    }
+
+    // Metrics configuration
+
+    /**
+     * Get Prometheus text file the metrics are exported to
+     * @return metrics file path; {pid} stands for the id of the exporting JVM
+     */
+    public String getMetricsFile() {
+        return getProperty("metrics.file", "reports/metrics-{pid}.prom");
+    }
+
+    /**
+     * Get interval between metrics file exports
+     * @return interval in seconds
+     */
+    public int getMetricsInterval() {
+        return getIntProperty("metrics.export.interval", 15);
+    }
+
+    /**
+     * Get port of the local /metrics endpoint. A system property overrides the config file
+     * @return port, or 0 when the endpoint is disabled
+     */
+    public int getMetricsPort() {
+        return Integer.parseInt(System.getProperty("metrics.port",
+                String.valueOf(getIntProperty("metrics.port", 0))));
+    }
+
+    // Circuit breaker configuration
+
+    /**
+     * Check if tests should be skipped while the environment is down
+     * @return true if the circuit breaker is enabled
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return Boolean.parseBoolean(System.getProperty("circuit.enabled",
+                String.valueOf(getBooleanProperty("circuit.enabled", true))));
+    }
+
+    /**
+     * Get number of consecutive environment failures that open the circuit
+     * @return failure threshold
+     */
+    public int getCircuitFailureThreshold() {
+        return getIntProperty("circuit.failure.threshold", 3);
+    }
+
+    /**
+     * Get time the circuit stays open before a half-open probe
+     * @return cooldown in seconds
+     */
+    public int getCircuitCooldownSeconds() {
+        return getIntProperty("circuit.cooldown.seconds", 30);
+    }
+
+    /**
+     * Get per-request timeout of the environment health probe
+     * @return timeout in milliseconds
+     */
+    public int getHealthProbeTimeout() {
+        return getIntProperty("health.probe.timeout.ms", 5000);
+    }
+
+    // Session trace configuration
+
+    /**
+     * Check if sessions keep an in-memory trace that is written when a test fails
+     * @return true if session tracing is enabled
+     */
+    public boolean isTraceEnabled() {
+        return Boolean.parseBoolean(System.getProperty("trace.enabled",
+                String.valueOf(getBooleanProperty("trace.enabled", true))));
+    }
+
+    /**
+     * Get memory budget of a session's command, wait and network events
+     * @return budget in KB
+     */
+    public int getTraceBufferKb() {
+        return getIntProperty("trace.buffer.kb", 256);
+    }
+
+    /**
+     * Check if Chromium sessions record screencast frames into the trace
+     * @return true if the screencast is enabled
+     */
+    public boolean isTraceScreencastEnabled() {
+        return getBooleanProperty("trace.screencast.enabled", true);
+    }
+
+    /**
+     * Get minimum time between two recorded screencast frames
+     * @return interval in milliseconds
+     */
+    public int getTraceScreencastIntervalMillis() {
+        return getIntProperty("trace.screencast.interval.ms", 1000);
+    }
+
+    /**
+     * Get memory budget of a session's screencast frames
+     * @return budget in KB
+     */
+    public int getTraceFramesKb() {
+        return getIntProperty("trace.frames.kb", 2048);
+    }
+
+    // State scheduler configuration
+
+    /**
+     * Check if test methods are reordered by their declared browser state
+     * @return true if the state-aware scheduler is enabled
+     */
+    public boolean isStateSchedulerEnabled() {
+        return Boolean.parseBoolean(System.getProperty("state.scheduler.enabled",
+                String.valueOf(getBooleanProperty("state.scheduler.enabled", true))));
+    }
+
+    // Login cache configuration
+
+    /**
+     * Check if auth tokens are cached and restored instead of logging in through the UI
+     * @return true if the login cache is enabled
+     */
+    public boolean isLoginCacheEnabled() {
+        return getBooleanProperty("login.cache.enabled", true);
+    }
+
+    /**
+     * Get how long a cached auth token is reused before logging in again
+     * @return time to live in minutes
+     */
+    public int getLoginCacheTtlMinutes() {
+        return getIntProperty("login.cache.ttl.minutes", 60);
+    }
+
+    /**
+     * Get age after which a cached token is re-checked with the storefront before reuse
+     * @return validation interval in seconds
+     */
+    public int getLoginCacheValidateSeconds() {
+        return getIntProperty("login.cache.validate.seconds", 300);
+    }
+
+    // Account pool configuration
+
+    /**
+     * Get number of test accounts leased to parallel workers
+     * @return pool size; 0 shares the default account between all workers (default)
+     */
+    public int getAccountPoolSize() {
+        return Integer.parseInt(System.getProperty("account.pool.size",
+                String.valueOf(getIntProperty("account.pool.size", 0))));
+    }
+
+    /**
+     * Get name prefix of pooled accounts
+     * @return prefix, or empty to derive one from the user and host name
+     */
+    public String getAccountPoolPrefix() {
+        return getProperty("account.pool.prefix", "").trim();
+    }
+
+    /**
+     * Get password pooled accounts are signed up with
+     * @return password
+     */
+    public String getAccountPoolPassword() {
+        return getProperty("account.pool.password", "Dmz-pool-pass1");
+    }
+
+    /**
+     * Get directory of the lock files that keep concurrent JVMs from leasing the same account
+     * @return lock directory
+     */
+    public String getAccountPoolLockDir() {
+        return getProperty("account.pool.lock.dir", "reports/accounts");
+    }
+
+    /**
+     * Get how long a worker waits for a free account
+     * @return timeout in seconds
+     */
+    public int getAccountPoolLeaseTimeoutSeconds() {
+        return getIntProperty("account.pool.lease.timeout.seconds", 300);
+    }
+
+    // Checkout fuzzing configuration
+
+    /**
+     * Get seed of the first generated checkout case
+     * @return base seed; 0 picks a new one per run (it is logged and reported)
+     */
+    public long getFuzzSeed() {
+        return Long.parseLong(System.getProperty("fuzz.seed", getProperty("fuzz.seed", "0")));
+    }
+
+    /**
+     * Get maximum number of checkout cases per run
+     * @return case count
+     */
+    public int getFuzzCases() {
+        return Integer.parseInt(System.getProperty("fuzz.cases", String.valueOf(getIntProperty("fuzz.cases", 500))));
+    }
+
+    /**
+     * Get number of checkout cases run concurrently
+     * @return thread count
+     */
+    public int getFuzzThreads() {
+        return getIntProperty("fuzz.threads", 8);
+    }
+
+    /**
+     * Get number of browser sessions the order form checks share
+     * @return session count; 0 checks the cart over HTTP only
+     */
+    public int getFuzzBrowsers() {
+        return Integer.parseInt(System.getProperty("fuzz.browsers", String.valueOf(getIntProperty("fuzz.browsers", 2))));
+    }
+
+    /**
+     * Get time after which no further checkout case is started
+     * @return budget in seconds
+     */
+    public int getFuzzTimeBudgetSeconds() {
+        return Integer.parseInt(System.getProperty("fuzz.time.budget.seconds",
+                String.valueOf(getIntProperty("fuzz.time.budget.seconds", 120))));
+    }
+
+    /**
+     * Get largest cart a checkout case fills
+     * @return product count
+     */
+    public int getFuzzMaxProducts() {
+        return getIntProperty("fuzz.max.products", 6);
+    }
+
+    /**
+     * Get number of shrink rounds per failing case
+     * @return round limit
+     */
+    public int getFuzzShrinkRounds() {
+        return getIntProperty("fuzz.shrink.rounds", 30);
+    }
+
+    /**
+     * Get number of failing cases shrunk and reported per run
+     * @return failure limit
+     */
+    public int getFuzzMaxReported() {
+        return getIntProperty("fuzz.max.reported", 3);
+    }
+
+    // Browser reaper configuration
+
+    /**
+     * Check if local browser processes are tracked and leaked ones killed
+     * @return true if enabled
+     */
+    public boolean isReaperEnabled() {
+        return Boolean.parseBoolean(System.getProperty("reaper.enabled",
+                String.valueOf(getBooleanProperty("reaper.enabled", true))));
+    }
+
+    /**
+     * Get interval of the check for sessions whose thread has ended
+     * @return interval in seconds
+     */
+    public int getReaperIntervalSeconds() {
+        return getIntProperty("reaper.interval.seconds", 30);
+    }
+
+    /**
+     * Get how long browser processes may take to exit after quit before they are killed
+     * @return grace period in seconds
+     */
+    public int getReaperQuitGraceSeconds() {
+        return getIntProperty("reaper.quit.grace.seconds", 5);
+    }
+
+    /**
+     * Get directory holding the tracked PIDs of each test JVM
+     * @return directory path
+     */
+    public String getReaperPidDir() {
+        return getProperty("reaper.pid.dir", "reports/pids");
+    }
+
+    // Session governor configuration
+
+    /**
+     * Check if local browser sessions are admitted by available memory
+     * @return true if enabled
+     */
+    public boolean isGovernorEnabled() {
+        return Boolean.parseBoolean(System.getProperty("governor.enabled",
+                String.valueOf(getBooleanProperty("governor.enabled", true))));
+    }
+
+    /**
+     * Get memory all local browser sessions of this JVM may use together
+     * @return budget in MB; 0 limits sessions only by the memory the system has available
+     */
+    public int getGovernorMemoryBudgetMb() {
+        return Integer.parseInt(System.getProperty("governor.memory.budget.mb",
+                String.valueOf(getIntProperty("governor.memory.budget.mb", 0))));
+    }
+
+    /**
+     * Get system memory kept available when admitting a session
+     * @return reserve in MB
+     */
+    public int getGovernorReserveMb() {
+        return getIntProperty("governor.reserve.mb", 1024);
+    }
+
+    /**
+     * Get assumed memory of a session until one has been measured
+     * @return estimate in MB
+     */
+    public int getGovernorSessionEstimateMb() {
+        return getIntProperty("governor.session.estimate.mb", 500);
+    }
+
+    /**
+     * Get how long a worker waits for memory before its session start fails
+     * @return timeout in seconds
+     */
+    public int getGovernorAdmitTimeoutSeconds() {
+        return getIntProperty("governor.admit.timeout.seconds", 600);
+    }
+}
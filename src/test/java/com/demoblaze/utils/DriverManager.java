@@ -1,8 +1,12 @@
 package com.demoblaze.utils;
 
+import com.demoblaze.listeners.MetricsListener;
+import com.demoblaze.listeners.SessionTraceListener;
+import com.demoblaze.state.StateManager;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -10,52 +14,141 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 public class DriverManager {
     private static final Logger logger = LogManager.getLogger(DriverManager.class);
     private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static ThreadLocal<Path> profileDir = new ThreadLocal<>();
 
     public static WebDriver getDriver(String browserName) {
+        return getDriver(browserName, ConfigReader.getInstance().isGridEnabled());
+    }
+
+    /**
+     * Get the current thread's driver, creating it on first use
+     * @param browserName chrome, firefox or edge
+     * @param remote true to request the session from the configured Grid hub
+     * @return driver of the current thread
+     */
+    public static WebDriver getDriver(String browserName, boolean remote) {
         if (driver.get() == null) {
-            driver.set(createDriver(browserName));
+            CassetteProxy.startIfEnabled();
+
+            Metrics.PENDING_SESSIONS.inc();
+            WebDriver webDriver = null;
+            boolean admitted = false;
+            try {
+                // Grid sessions use the nodes' memory; the hub queues those
+                if (!remote) {
+                    SessionGovernor.getInstance().admit();
+                    admitted = true;
+                }
+                long start = Metrics.DRIVER_STARTUP.start();
+                webDriver = createDriver(browserName, remote);
+                Metrics.DRIVER_STARTUP.observeSince(start);
+            } finally {
+                Metrics.PENDING_SESSIONS.dec();
+                if (admitted) {
+                    SessionGovernor.getInstance().started(webDriver != null);
+                }
+            }
+            Metrics.DRIVERS_CREATED.inc();
+            Metrics.ACTIVE_SESSIONS.inc();
+            if (!remote) {
+                BrowserReaper.getInstance().track(webDriver);
+            }
+
+            // From here on quitDriver() owns the session, also if the rest of the set-up fails
+            driver.set(webDriver);
+            try {
+                applyTimeouts(webDriver);
+                SessionTrace trace = SessionTrace.attach(webDriver);
+                webDriver = new EventFiringDecorator<>(new MetricsListener(), new SessionTraceListener(trace))
+                        .decorate(webDriver);
+                driver.set(webDriver);
+                BrowserEvents.attach(webDriver);
+            } catch (RuntimeException e) {
+                quitDriver();
+                throw e;
+            }
+        } else {
+            Metrics.DRIVERS_REUSED.inc();
         }
         return driver.get();
     }
 
-    private static WebDriver createDriver(String browserName) {
-        WebDriver webDriver = null;
+    /**
+     * Get the current thread's driver without creating one
+     * @return driver of the current thread, or null if it has none
+     */
+    public static WebDriver getCurrentDriver() {
+        return driver.get();
+    }
+
+    // Explicit waits are timed per action by WaitPolicy; these bound page loads and element lookups
+    private static void applyTimeouts(WebDriver webDriver) {
+        ConfigReader config = ConfigReader.getInstance();
+        webDriver.manage().timeouts()
+                .pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()))
+                .implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
+    }
+
+    private static WebDriver createDriver(String browserName, boolean remote) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (remote) {
+            if (!config.isGridEnabled()) {
+                throw new IllegalStateException("Remote browser requested but grid.url is not configured");
+            }
+            return createRemoteDriver(browserName, config);
+        }
+
         boolean headless = Boolean.parseBoolean(System.getProperty("headless", "false"));
 
-        logger.info("Creating {} driver (headless: {})", browserName, headless);
+        Path profile = null;
+        if (config.isProfileTemplateEnabled()) {
+            profile = ProfileTemplate.forBrowser(browserName)
+                    .newSession(seedDir -> createLocalDriver(browserName, headless, seedDir));
+            profileDir.set(profile);
+        }
+        return createLocalDriver(browserName, headless, profile);
+    }
+
+    private static WebDriver createLocalDriver(String browserName, boolean headless, Path profile) {
+        WebDriver webDriver = null;
+
+        logger.info("Creating {} driver (headless: {}, profile: {})", browserName, headless,
+                profile != null ? profile : "fresh");
 
         switch (browserName.toLowerCase()) {
             case "chrome":
                 WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                chromeOptions.addArguments("--no-sandbox");
-                chromeOptions.addArguments("--disable-dev-shm-usage");
-                chromeOptions.addArguments("--disable-gpu");
-                chromeOptions.addArguments("--window-size=1920,1080");
-                if (headless) {
-                    chromeOptions.addArguments("--headless");
+                ChromeOptions chromeOptions = chromeOptions(headless);
+                if (profile != null) {
+                    chromeOptions.addArguments("--user-data-dir=" + profile.toAbsolutePath());
                 }
                 webDriver = new ChromeDriver(chromeOptions);
                 break;
 
             case "firefox":
                 WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (headless) {
-                    firefoxOptions.addArguments("--headless");
+                FirefoxOptions firefoxOptions = firefoxOptions(headless);
+                if (profile != null) {
+                    firefoxOptions.addArguments("-profile", profile.toAbsolutePath().toString());
                 }
                 webDriver = new FirefoxDriver(firefoxOptions);
                 break;
 
             case "edge":
                 WebDriverManager.edgedriver().setup();
-                EdgeOptions edgeOptions = new EdgeOptions();
-                if (headless) {
-                    edgeOptions.addArguments("--headless");
+                EdgeOptions edgeOptions = edgeOptions(headless);
+                if (profile != null) {
+                    edgeOptions.addArguments("--user-data-dir=" + profile.toAbsolutePath());
                 }
                 webDriver = new EdgeDriver(edgeOptions);
                 break;
@@ -69,11 +162,105 @@ public class DriverManager {
         return webDriver;
     }
 
+    /**
+     * Create a RemoteWebDriver against the configured Grid hub. The hub queues the
+     * request until a matching slot frees up, so the client read timeout is raised
+     * to cover the configured queue wait.
+     */
+    private static WebDriver createRemoteDriver(String browserName, ConfigReader config) {
+        boolean headless = Boolean.parseBoolean(System.getProperty("headless", "false"));
+        String gridUrl = config.getGridUrl();
+
+        logger.info("Creating remote {} driver on grid {} (headless: {})", browserName, gridUrl, headless);
+
+        Capabilities capabilities;
+        switch (browserName.toLowerCase()) {
+            case "chrome":
+                capabilities = chromeOptions(headless);
+                break;
+            case "firefox":
+                capabilities = firefoxOptions(headless);
+                break;
+            case "edge":
+                capabilities = edgeOptions(headless);
+                break;
+            default:
+                logger.error("Unsupported browser: " + browserName);
+                throw new IllegalArgumentException("Browser not supported: " + browserName);
+        }
+
+        ClientConfig clientConfig = ClientConfig.defaultConfig()
+                .readTimeout(Duration.ofSeconds(config.getGridSessionRequestTimeout() + 30));
+
+        WebDriver webDriver = RemoteWebDriver.builder()
+                .oneOf(capabilities)
+                .address(gridUrl)
+                .config(clientConfig)
+                .build();
+
+        logger.info("Remote driver created successfully");
+        return webDriver;
+    }
+
+    private static ChromeOptions chromeOptions(boolean headless) {
+        ChromeOptions chromeOptions = new ChromeOptions();
+        chromeOptions.addArguments("--no-sandbox");
+        chromeOptions.addArguments("--disable-dev-shm-usage");
+        chromeOptions.addArguments("--disable-gpu");
+        chromeOptions.addArguments("--window-size=1920,1080");
+        if (headless) {
+            chromeOptions.addArguments("--headless");
+        }
+        if (ConfigReader.getInstance().isBidiEnabled()) {
+            chromeOptions.enableBiDi();
+        }
+        return chromeOptions;
+    }
+
+    private static FirefoxOptions firefoxOptions(boolean headless) {
+        FirefoxOptions firefoxOptions = new FirefoxOptions();
+        if (headless) {
+            firefoxOptions.addArguments("--headless");
+        }
+        if (ConfigReader.getInstance().isBidiEnabled()) {
+            firefoxOptions.enableBiDi();
+        }
+        return firefoxOptions;
+    }
+
+    private static EdgeOptions edgeOptions(boolean headless) {
+        EdgeOptions edgeOptions = new EdgeOptions();
+        if (headless) {
+            edgeOptions.addArguments("--headless");
+        }
+        if (ConfigReader.getInstance().isBidiEnabled()) {
+            edgeOptions.enableBiDi();
+        }
+        return edgeOptions;
+    }
+
     public static void quitDriver() {
-        if (driver.get() != null) {
+        WebDriver webDriver = driver.get();
+        if (webDriver != null) {
             logger.info("Closing driver");
-            driver.get().quit();
-            driver.remove();
+            try {
+                BrowserEvents.detach(webDriver);
+                SessionTrace.detach();
+                StateManager.forget(webDriver);
+                webDriver.quit();
+            } catch (Exception e) {
+                logger.warn("Driver did not quit cleanly: {}", e.getMessage());
+            } finally {
+                driver.remove();
+                Metrics.ACTIVE_SESSIONS.dec();
+                // Kills whatever the quit left running
+                BrowserReaper.getInstance().untrack();
+                SessionGovernor.getInstance().closed();
+            }
+        }
+        if (profileDir.get() != null) {
+            ProfileTemplate.discard(profileDir.get());
+            profileDir.remove();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Health check for the system under test, and classification of failures that point
+ * at the environment (outage, DNS, timeouts, 5xx) rather than at the application.
+ */
+public class EnvironmentProbe {
+    private static final Logger logger = LogManager.getLogger(EnvironmentProbe.class);
+    private static final String API_URL = "https://api.demoblaze.com";
+
+    private static final Pattern ENVIRONMENT_MESSAGE = Pattern.compile(
+            "ERR_NAME_NOT_RESOLVED|ERR_CONNECTION_|ERR_INTERNET_DISCONNECTED|ERR_TIMED_OUT|ERR_ADDRESS_UNREACHABLE"
+                    + "|NS_ERROR_UNKNOWN_HOST|NS_ERROR_CONNECTION_REFUSED|NS_ERROR_NET_TIMEOUT"
+                    + "|returned 5\\d\\d");
+    private static final Pattern TIMEOUT_MESSAGE = Pattern.compile("Timed out receiving message from renderer");
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    /**
+     * Check that the storefront page and API answer within the timeout
+     * @param timeout per-request timeout
+     * @return null if healthy, otherwise the reason
+     */
+    public static String check(Duration timeout) {
+        ConfigReader config = ConfigReader.getInstance();
+        String siteUrl = CassetteProxy.resolve(config.getBaseUrl());
+        String apiUrl = CassetteProxy.resolveApi(API_URL) + "/entries";
+
+        String siteProblem = get(siteUrl, timeout);
+        if (siteProblem != null) {
+            return siteProblem;
+        }
+        return get(apiUrl, timeout);
+    }
+
+    private static String get(String url, Duration timeout) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 500) {
+                return url + " returned " + status;
+            }
+            return null;
+        } catch (HttpTimeoutException e) {
+            return url + " did not answer within " + timeout.toMillis() + " ms";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Health probe interrupted";
+        } catch (Exception e) {
+            logger.debug("Health probe of {} failed", url, e);
+            return url + " unreachable: " + e;
+        }
+    }
+
+    /**
+     * Decide whether a failure was certainly caused by the environment
+     * @param failure test or configuration failure
+     * @return true for DNS and connection errors and 5xx responses
+     */
+    public static boolean isEnvironmentFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnknownHostException || cause instanceof ConnectException) {
+                return true;
+            }
+            if (cause.getMessage() != null && ENVIRONMENT_MESSAGE.matcher(cause.getMessage()).find()) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decide whether a failure is a timeout. A wait also times out when the application
+     * never shows what the test expects, so a timeout only points at the environment if
+     * {@link #check} fails as well.
+     * @param failure test or configuration failure
+     * @return true for WebDriver waits, HTTP requests and renderer calls that timed out
+     */
+    public static boolean isTimeout(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.openqa.selenium.TimeoutException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+            if (cause.getMessage() != null && TIMEOUT_MESSAGE.matcher(cause.getMessage()).find()) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
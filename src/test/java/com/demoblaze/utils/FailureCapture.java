@@ -0,0 +1,86 @@
+package com.demoblaze.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cheap failure state capture. One script call serializes the page's URL, title, DOM,
+ * localStorage, sessionStorage, cookies and the cart table as JSON, which compresses to
+ * a few KB; screenshots become an optional extra limited to one per interval. The
+ * snapshot holds no timestamp, so the same failure state dedups to one blob; the index
+ * entry records when it was captured. Cookie and storage values that look like
+ * credentials (by name, or JWT-shaped) are redacted before the snapshot leaves the page.
+ */
+public class FailureCapture {
+    private static final AtomicLong lastScreenshot = new AtomicLong();
+
+    // Cookie and storage names that hold credentials, e.g. the login token tokenp_
+    private static final String CREDENTIAL_NAMES = "token|auth|sess|sid|pass|secret|cred|jwt";
+
+    private static final String SNAPSHOT_SCRIPT =
+            "var credential = /" + CREDENTIAL_NAMES + "/i;" +
+            "var jwt = /^[\\w-]+\\.[\\w-]+\\.[\\w-]+$/;" +
+            "function redact(name, value) {" +
+            "  return credential.test(name) || jwt.test(value) ? '<redacted>' : value;" +
+            "}" +
+            "function dump(storage) {" +
+            "  var out = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var k = storage.key(i); out[k] = redact(k, storage.getItem(k)); }" +
+            "  return out;" +
+            "}" +
+            "var cookies = {};" +
+            "document.cookie.split(';').forEach(function(cookie) {" +
+            "  var at = cookie.indexOf('=');" +
+            "  var name = (at < 0 ? cookie : cookie.substring(0, at)).trim();" +
+            "  if (name) { cookies[name] = redact(name, at < 0 ? '' : cookie.substring(at + 1).trim()); }" +
+            "});" +
+            "var cart = [];" +
+            "document.querySelectorAll('#tbodyid tr').forEach(function(row) {" +
+            "  cart.push(Array.prototype.map.call(row.querySelectorAll('td'), function(td) { return td.innerText.trim(); }));" +
+            "});" +
+            "var total = document.getElementById('totalp');" +
+            "return JSON.stringify({" +
+            "  url: location.href," +
+            "  title: document.title," +
+            "  readyState: document.readyState," +
+            "  localStorage: dump(window.localStorage)," +
+            "  sessionStorage: dump(window.sessionStorage)," +
+            "  cookies: cookies," +
+            "  cart: cart," +
+            "  cartTotal: total ? total.innerText.trim() : null," +
+            "  dom: document.documentElement.outerHTML" +
+            "});";
+
+    /**
+     * Serialize the current page state
+     * @param driver driver of the failed test
+     * @return UTF-8 JSON snapshot
+     */
+    public static byte[] snapshot(WebDriver driver) {
+        Object json = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT);
+        return String.valueOf(json).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decide whether this failure may take a screenshot under failure.screenshot.mode
+     * @param config configuration
+     * @return true for mode always, or for throttled when the last screenshot is older than the interval
+     */
+    public static boolean screenshotAllowed(ConfigReader config) {
+        switch (config.getFailureScreenshotMode()) {
+            case "always":
+                return true;
+            case "off":
+                return false;
+            default:
+                long now = System.nanoTime();
+                long interval = TimeUnit.SECONDS.toNanos(config.getFailureScreenshotIntervalSeconds());
+                long last = lastScreenshot.get();
+                return (last == 0 || now - last >= interval) && lastScreenshot.compareAndSet(last, now);
+        }
+    }
+}
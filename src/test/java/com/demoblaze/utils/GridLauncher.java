@@ -0,0 +1,131 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts a standalone Selenium Grid hub plus N nodes on the local machine.
+ * The processes are stopped on {@link #stop()} or when the JVM exits.
+ */
+public class GridLauncher {
+    private static final Logger logger = LogManager.getLogger(GridLauncher.class);
+    private static final long STARTUP_TIMEOUT_MS = 60_000;
+
+    private static final List<Process> processes = new ArrayList<>();
+    private static String hubUrl;
+
+    /**
+     * Start hub and nodes unless they are already running
+     * @param serverJar path to the selenium-server jar
+     * @param nodeCount number of nodes to start
+     * @param sessionsPerNode max concurrent sessions per node
+     * @param sessionRequestTimeout seconds a new session request may wait in the queue
+     * @return hub URL the drivers should point to
+     */
+    public static synchronized String start(String serverJar, int nodeCount, int sessionsPerNode,
+                                            int sessionRequestTimeout) {
+        if (hubUrl != null) {
+            return hubUrl;
+        }
+        if (serverJar.isEmpty() || !new File(serverJar).isFile()) {
+            throw new IllegalStateException("grid.server.jar must point to a selenium-server jar: " + serverJar);
+        }
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        int hubPort = freePort();
+        String url = "http://localhost:" + hubPort;
+
+        logger.info("Starting local grid hub on port {} with {} nodes ({} sessions each)",
+                hubPort, nodeCount, sessionsPerNode);
+
+        int publishPort = freePort();
+        int subscribePort = freePort();
+        processes.add(launch(Arrays.asList(java, "-jar", serverJar, "hub",
+                "--port", String.valueOf(hubPort),
+                "--event-bus-publish-port", String.valueOf(publishPort),
+                "--event-bus-subscribe-port", String.valueOf(subscribePort),
+                "--session-request-timeout", String.valueOf(sessionRequestTimeout)), "hub"));
+
+        // --hub alone assumes the default event bus ports 4442/4443, so point nodes at the
+        // hub's own ports: they publish to its publish port and subscribe to its subscribe port
+        for (int i = 0; i < nodeCount; i++) {
+            processes.add(launch(Arrays.asList(java, "-jar", serverJar, "node",
+                    "--hub", url,
+                    "--publish-events", "tcp://localhost:" + publishPort,
+                    "--subscribe-events", "tcp://localhost:" + subscribePort,
+                    "--port", String.valueOf(freePort()),
+                    "--max-sessions", String.valueOf(sessionsPerNode),
+                    "--override-max-sessions", "true"), "node-" + i));
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(GridLauncher::stop, "grid-launcher-shutdown"));
+
+        waitForNodes(url, nodeCount);
+        hubUrl = url;
+        return hubUrl;
+    }
+
+    /**
+     * Stop all processes started by the launcher
+     */
+    public static synchronized void stop() {
+        if (processes.isEmpty()) {
+            return;
+        }
+        logger.info("Stopping local grid ({} processes)", processes.size());
+        for (Process process : processes) {
+            process.destroy();
+        }
+        processes.clear();
+        hubUrl = null;
+    }
+
+    private static Process launch(List<String> command, String name) {
+        File logFile = new File("reports/grid-" + name + ".log");
+        logFile.getParentFile().mkdirs();
+        try {
+            return new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile)
+                    .start();
+        } catch (IOException e) {
+            stop();
+            throw new IllegalStateException("Could not start grid " + name, e);
+        }
+    }
+
+    private static void waitForNodes(String url, int nodeCount) {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            GridStatus status = GridStatus.fetch(url);
+            if (status.isReady() && status.getNodes().size() >= nodeCount) {
+                logger.info("Local grid ready with {} slots", status.getConcurrentSessionCapacity());
+                return;
+            }
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        stop();
+        throw new IllegalStateException("Local grid did not become ready within " + STARTUP_TIMEOUT_MS + " ms");
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("No free port available", e);
+        }
+    }
+}
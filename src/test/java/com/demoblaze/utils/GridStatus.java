@@ -0,0 +1,156 @@
+package com.demoblaze.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the Selenium Grid /status endpoint and exposes slot usage per node
+ */
+public class GridStatus {
+    private static final Logger logger = LogManager.getLogger(GridStatus.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final boolean ready;
+    private final List<NodeStatus> nodes;
+
+    private GridStatus(boolean ready, List<NodeStatus> nodes) {
+        this.ready = ready;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Query the hub status endpoint
+     * @param gridUrl hub URL (with or without trailing slash)
+     * @return current grid status, or a not-ready status if the hub cannot be reached
+     */
+    public static GridStatus fetch(String gridUrl) {
+        String statusUrl = gridUrl.replaceAll("/+$", "") + "/status";
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(statusUrl))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return parse(response.body());
+        } catch (IOException e) {
+            logger.debug("Grid status not available at {}: {}", statusUrl, e.getMessage());
+            return new GridStatus(false, Collections.emptyList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new GridStatus(false, Collections.emptyList());
+        }
+    }
+
+    static GridStatus parse(String json) throws IOException {
+        JsonNode value = mapper.readTree(json).path("value");
+        List<NodeStatus> nodes = new ArrayList<>();
+
+        for (JsonNode node : value.path("nodes")) {
+            int totalSlots = 0;
+            int busySlots = 0;
+            for (JsonNode slot : node.path("slots")) {
+                totalSlots++;
+                if (!slot.path("session").isMissingNode() && !slot.path("session").isNull()) {
+                    busySlots++;
+                }
+            }
+            nodes.add(new NodeStatus(
+                    node.path("id").asText(),
+                    node.path("uri").asText(),
+                    node.path("availability").asText(),
+                    node.path("maxSessions").asInt(totalSlots),
+                    totalSlots,
+                    busySlots));
+        }
+
+        return new GridStatus(value.path("ready").asBoolean(false), nodes);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<NodeStatus> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Get number of sessions the grid can run at the same time
+     * @return sum of max sessions over all nodes that are up
+     */
+    public int getConcurrentSessionCapacity() {
+        return nodes.stream()
+                .filter(node -> "UP".equalsIgnoreCase(node.getAvailability()))
+                .mapToInt(node -> Math.min(node.getMaxSessions(), node.getTotalSlots()))
+                .sum();
+    }
+
+    /**
+     * Slot usage snapshot of a single grid node
+     */
+    public static class NodeStatus {
+        private final String id;
+        private final String uri;
+        private final String availability;
+        private final int maxSessions;
+        private final int totalSlots;
+        private final int busySlots;
+
+        NodeStatus(String id, String uri, String availability, int maxSessions, int totalSlots, int busySlots) {
+            this.id = id;
+            this.uri = uri;
+            this.availability = availability;
+            this.maxSessions = maxSessions;
+            this.totalSlots = totalSlots;
+            this.busySlots = busySlots;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public String getAvailability() {
+            return availability;
+        }
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        public int getTotalSlots() {
+            return totalSlots;
+        }
+
+        public int getBusySlots() {
+            return busySlots;
+        }
+
+        /**
+         * Busy fraction of the slots the node may actually run concurrently
+         * @return utilization between 0 and 1
+         */
+        public double getUtilization() {
+            int usable = Math.min(maxSessions, totalSlots);
+            return usable == 0 ? 0.0 : Math.min(1.0, (double) busySlots / usable);
+        }
+    }
+}
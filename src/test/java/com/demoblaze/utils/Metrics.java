@@ -0,0 +1,234 @@
+package com.demoblaze.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process metrics for the framework's hot paths. Recording is lock-free
+ * (LongAdder cells, so parallel test threads do not contend on one counter) and
+ * {@link #render()} produces the Prometheus text exposition format.
+ */
+public final class Metrics {
+    private static final Map<String, Metric> registry = new ConcurrentSkipListMap<>();
+
+    // Latency buckets in seconds, from a quick DOM check to a long page load
+    private static final double[] LATENCY_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+    public static final Counter DRIVERS_CREATED = counter("demoblaze_driver_created_total",
+            "WebDriver sessions created");
+    public static final Counter DRIVERS_REUSED = counter("demoblaze_driver_reused_total",
+            "getDriver calls served by the thread's existing session");
+    public static final Gauge ACTIVE_SESSIONS = gauge("demoblaze_driver_active_sessions",
+            "WebDriver sessions currently open");
+    public static final Gauge PENDING_SESSIONS = gauge("demoblaze_driver_pending_sessions",
+            "Session requests waiting for a browser (grid queue or local start-up)");
+    public static final Histogram DRIVER_STARTUP = histogram("demoblaze_driver_startup_seconds",
+            "Time to create a WebDriver session");
+    public static final Histogram WAITS = histogram("demoblaze_wait_seconds",
+            "Explicit wait durations, including timeouts");
+    public static final Histogram CLICKS = histogram("demoblaze_click_seconds",
+            "WebElement click durations");
+    public static final Histogram NAVIGATIONS = histogram("demoblaze_navigation_seconds",
+            "Page navigation durations (get, to, refresh)");
+    public static final Histogram SCREENSHOT_WRITES = histogram("demoblaze_screenshot_write_seconds",
+            "Failure screenshot capture and store durations");
+    public static final Histogram FAILURE_SNAPSHOTS = histogram("demoblaze_failure_snapshot_seconds",
+            "Failure DOM and state snapshot capture and store durations");
+    public static final Histogram GOVERNOR_WAITS = histogram("demoblaze_governor_wait_seconds",
+            "Time local sessions waited for memory before the browser was started");
+    public static final Counter LEAKED_PROCESSES = counter("demoblaze_leaked_browser_processes_total",
+            "Browser and driver processes killed by the reaper after their session was not quit");
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name, String help) {
+        return register(new Counter(name, help));
+    }
+
+    public static Gauge gauge(String name, String help) {
+        return register(new Gauge(name, help));
+    }
+
+    public static Histogram histogram(String name, String help) {
+        return register(new Histogram(name, help, LATENCY_BUCKETS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <M extends Metric> M register(M metric) {
+        Metric existing = registry.putIfAbsent(metric.name, metric);
+        return existing != null ? (M) existing : metric;
+    }
+
+    /**
+     * Snapshot of all metrics in Prometheus text format (version 0.0.4)
+     * @return exposition text
+     */
+    public static String render() {
+        return render("");
+    }
+
+    /**
+     * Snapshot of all metrics in Prometheus text format (version 0.0.4) with constant labels
+     * @param labels label pairs added to every sample, e.g. fork="1234"; empty for none
+     * @return exposition text
+     */
+    public static String render(String labels) {
+        StringBuilder out = new StringBuilder();
+        for (Metric metric : registry.values()) {
+            out.append("# HELP ").append(metric.name).append(' ').append(metric.help).append('\n');
+            out.append("# TYPE ").append(metric.name).append(' ').append(metric.type()).append('\n');
+            metric.render(out, labels);
+        }
+        return out.toString();
+    }
+
+    private static String braces(String labels) {
+        return labels.isEmpty() ? "" : "{" + labels + "}";
+    }
+
+    public abstract static class Metric {
+        final String name;
+        final String help;
+
+        Metric(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        abstract String type();
+
+        abstract void render(StringBuilder out, String labels);
+    }
+
+    public static final class Counter extends Metric {
+        private final LongAdder value = new LongAdder();
+
+        Counter(String name, String help) {
+            super(name, help);
+        }
+
+        public void inc() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        @Override
+        String type() {
+            return "counter";
+        }
+
+        @Override
+        void render(StringBuilder out, String labels) {
+            out.append(name).append(braces(labels)).append(' ').append(value.sum()).append('\n');
+        }
+    }
+
+    public static final class Gauge extends Metric {
+        private final AtomicLong value = new AtomicLong();
+
+        Gauge(String name, String help) {
+            super(name, help);
+        }
+
+        public void inc() {
+            value.incrementAndGet();
+        }
+
+        public void dec() {
+            value.decrementAndGet();
+        }
+
+        public void set(long newValue) {
+            value.set(newValue);
+        }
+
+        public long get() {
+            return value.get();
+        }
+
+        @Override
+        String type() {
+            return "gauge";
+        }
+
+        @Override
+        void render(StringBuilder out, String labels) {
+            out.append(name).append(braces(labels)).append(' ').append(value.get()).append('\n');
+        }
+    }
+
+    public static final class Histogram extends Metric {
+        private final double[] bounds;
+        // Per-bucket (not cumulative) counts; the last cell is +Inf
+        private final LongAdder[] buckets;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+
+        Histogram(String name, String help, double[] bounds) {
+            super(name, help);
+            this.bounds = bounds;
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Start timing an operation
+         * @return System.nanoTime() to pass to {@link #observeSince(long)}
+         */
+        public long start() {
+            return System.nanoTime();
+        }
+
+        public void observeSince(long startNanos) {
+            observeNanos(System.nanoTime() - startNanos);
+        }
+
+        public void observeNanos(long nanos) {
+            double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+            int bucket = 0;
+            while (bucket < bounds.length && seconds > bounds[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            sumNanos.add(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        String type() {
+            return "histogram";
+        }
+
+        @Override
+        void render(StringBuilder out, String labels) {
+            String bucketLabels = labels.isEmpty() ? "" : labels + ",";
+            long cumulative = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                cumulative += buckets[i].sum();
+                out.append(name).append("_bucket{").append(bucketLabels).append("le=\"").append(bounds[i]).append("\"} ")
+                        .append(cumulative).append('\n');
+            }
+            cumulative += buckets[bounds.length].sum();
+            out.append(name).append("_bucket{").append(bucketLabels).append("le=\"+Inf\"} ").append(cumulative).append('\n');
+            out.append(name).append("_sum").append(braces(labels)).append(' ').append(sumNanos.sum() / 1e9).append('\n');
+            out.append(name).append("_count").append(braces(labels)).append(' ').append(cumulative).append('\n');
+        }
+    }
+}
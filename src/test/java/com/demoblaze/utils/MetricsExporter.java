@@ -0,0 +1,144 @@
+package com.demoblaze.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link Metrics} while the suite runs: rewrites a Prometheus text file
+ * (node_exporter textfile collector format) at a fixed interval and optionally serves
+ * the same text on http://localhost:&lt;port&gt;/metrics. Every JVM (surefire fork) writes
+ * its own file, {pid} in metrics.file being replaced by its process id, and labels its
+ * samples with fork="&lt;pid&gt;", so a textfile collector sees no duplicate series. Files
+ * of JVMs that are gone are removed at start.
+ */
+public class MetricsExporter {
+    private static final Logger logger = LogManager.getLogger(MetricsExporter.class);
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String PID_PLACEHOLDER = "{pid}";
+    private static final String LABELS = "fork=\"" + ProcessHandle.current().pid() + "\"";
+
+    private static ScheduledExecutorService scheduler;
+    private static HttpServer server;
+    private static Path file;
+
+    /**
+     * Start exporting once per JVM using the metrics.* configuration
+     */
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        ConfigReader config = ConfigReader.getInstance();
+        String pattern = config.getMetricsFile();
+        file = Paths.get(pattern.replace(PID_PLACEHOLDER, String.valueOf(ProcessHandle.current().pid())));
+        removeFilesOfEndedRuns(Paths.get(pattern));
+        int interval = Math.max(1, config.getMetricsInterval());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(MetricsExporter::writeFile, interval, interval, TimeUnit.SECONDS);
+        logger.info("Exporting metrics to {} every {}s", file, interval);
+
+        if (config.getMetricsPort() > 0) {
+            startServer(config.getMetricsPort());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(MetricsExporter::stop, "metrics-exporter-shutdown"));
+    }
+
+    /**
+     * Write the final values and stop exporting
+     */
+    public static synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        writeFile();
+    }
+
+    private static void writeFile() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            // Scrapers must never see a half-written file; the collector skips *.tmp
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, Metrics.render(LABELS).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+
+    // A collector would export the last values of finished forks forever
+    private static void removeFilesOfEndedRuns(Path pattern) {
+        String name = pattern.getFileName().toString();
+        int placeholder = name.indexOf(PID_PLACEHOLDER);
+        Path dir = pattern.toAbsolutePath().getParent();
+        if (placeholder < 0 || !Files.isDirectory(dir)) {
+            return;
+        }
+        String prefix = name.substring(0, placeholder);
+        String suffix = name.substring(placeholder + PID_PLACEHOLDER.length());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            for (Path other : files) {
+                String otherName = other.getFileName().toString();
+                String pid = otherName.substring(prefix.length(), otherName.length() - suffix.length());
+                if (pid.matches("\\d+") && !ProcessHandle.of(Long.parseLong(pid)).map(ProcessHandle::isAlive).orElse(false)) {
+                    Files.deleteIfExists(other);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not remove metrics files of ended runs: {}", e.getMessage());
+        }
+    }
+
+    private static void startServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = Metrics.render(LABELS).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.start();
+            logger.info("Metrics endpoint at http://localhost:{}/metrics", port);
+        } catch (IOException e) {
+            logger.warn("Could not start metrics endpoint on port {}: {}", port, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+/**
+ * Synchronization helpers for Demoblaze's AJAX-driven pages.
+ * A small JS shim counts in-flight XHR/fetch requests so waits can stop as soon as
+ * the network goes quiet, and a stale-content guard makes sure a wait only passes on
+ * content rendered after the triggering action.
+ */
+public class PageSync {
+    private static final Logger logger = LogManager.getLogger(PageSync.class);
+    private static final String STALE_ATTRIBUTE = "data-dmz-stale";
+
+    // Requests are counted down on a later task so success callbacks have rendered first
+    static final String NETWORK_SHIM_BODY =
+            "if (window.__dmzInflight !== undefined) { return; }" +
+            "window.__dmzInflight = 0;" +
+            "window.__dmzLastActivity = Date.now();" +
+            "var begin = function() { window.__dmzInflight++; window.__dmzLastActivity = Date.now(); };" +
+            "var end = function() {" +
+            "  window.__dmzInflight = Math.max(0, window.__dmzInflight - 1);" +
+            "  window.__dmzLastActivity = Date.now();" +
+            "};" +
+            "var send = XMLHttpRequest.prototype.send;" +
+            "XMLHttpRequest.prototype.send = function() {" +
+            "  begin();" +
+            "  this.addEventListener('loadend', function() { setTimeout(end, 0); });" +
+            "  return send.apply(this, arguments);" +
+            "};" +
+            "if (window.fetch) {" +
+            "  var originalFetch = window.fetch;" +
+            "  window.fetch = function() {" +
+            "    begin();" +
+            "    return originalFetch.apply(this, arguments).finally(function() { setTimeout(end, 0); });" +
+            "  };" +
+            "}";
+
+    /**
+     * Shim as a BiDi preload script, so requests issued while the page loads are counted too
+     */
+    static final String NETWORK_SHIM_PRELOAD = "() => {" + NETWORK_SHIM_BODY + "}";
+
+    private static final String NETWORK_IDLE_SCRIPT =
+            "(function() {" + NETWORK_SHIM_BODY + "})();" +
+            "return window.__dmzInflight === 0 && (Date.now() - window.__dmzLastActivity) >= arguments[0];";
+
+    private static final String MARK_STALE_SCRIPT =
+            "var container = document.querySelector(arguments[0]);" +
+            "if (!container) { return 0; }" +
+            "var children = container.children;" +
+            "for (var i = 0; i < children.length; i++) { children[i].setAttribute(arguments[1], 'true'); }" +
+            "return children.length;";
+
+    private static final String FRESH_CONTENT_SCRIPT =
+            "var container = document.querySelector(arguments[0]);" +
+            "if (!container) { return false; }" +
+            "if (container.querySelector('[' + arguments[2] + ']')) { return false; }" +
+            "return container.querySelectorAll(arguments[1]).length > 0;";
+
+    /**
+     * Condition that holds once no XHR/fetch is in flight and the network has been quiet
+     * for the configured window. The shim is installed on first use if it is missing.
+     * @return network idle condition
+     */
+    public static ExpectedCondition<Boolean> networkIdle() {
+        int quietMillis = ConfigReader.getInstance().getNetworkIdleQuietMillis();
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                Object idle = ((JavascriptExecutor) driver).executeScript(NETWORK_IDLE_SCRIPT, quietMillis);
+                return Boolean.TRUE.equals(idle);
+            }
+
+            @Override
+            public String toString() {
+                return "network to be idle for " + quietMillis + " ms";
+            }
+        };
+    }
+
+    /**
+     * Mark the current children of a container as stale before an action that re-renders it
+     * @param driver driver instance
+     * @param containerSelector CSS selector of the re-rendered container
+     */
+    public static void markStale(WebDriver driver, String containerSelector) {
+        Object marked = ((JavascriptExecutor) driver).executeScript(
+                MARK_STALE_SCRIPT, containerSelector, STALE_ATTRIBUTE);
+        logger.debug("Marked {} elements in {} as stale", marked, containerSelector);
+    }
+
+    /**
+     * Condition that holds once the container was re-rendered after {@link #markStale}:
+     * no stale element is left and at least one fresh element matches
+     * @param containerSelector CSS selector of the container
+     * @param itemSelector CSS selector of the expected items inside the container
+     * @return fresh content condition
+     */
+    public static ExpectedCondition<Boolean> freshContent(String containerSelector, String itemSelector) {
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                Object fresh = ((JavascriptExecutor) driver).executeScript(
+                        FRESH_CONTENT_SCRIPT, containerSelector, itemSelector, STALE_ATTRIBUTE);
+                return Boolean.TRUE.equals(fresh);
+            }
+
+            @Override
+            public String toString() {
+                return "fresh '" + itemSelector + "' content in " + containerSelector;
+            }
+        };
+    }
+}
@@ -0,0 +1,372 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Warm browser profile template. The template is seeded once by browsing the storefront,
+ * which fills the HTTP cache and the compiled code cache; every new local session then
+ * starts from a clone of it, so its first page load behaves like a repeat visit.
+ * Clones use copy-on-write ({@code cp --reflink=auto}) where the filesystem supports it.
+ * <p>
+ * Each seeding produces a new version directory, and the {@code current} pointer file
+ * is switched to it atomically, so a clone never reads a half-replaced template. Every
+ * clone registers itself with a locked file under {@code clones/} while it copies; an
+ * old version is retired first and deleted only once no JVM has a clone of it in
+ * progress. Registrations of JVMs that died are recognised by their released lock.
+ */
+public class ProfileTemplate {
+    private static final Logger logger = LogManager.getLogger(ProfileTemplate.class);
+    private static final String SEEDED_MARKER = ".seeded";
+    private static final String RETIRED_MARKER = ".retired";
+    private static final String CURRENT_POINTER = "current";
+    private static final String CLONES_DIR = "clones";
+    private static final String VERSION_PREFIX = "v";
+    private static final String[] WARM_UP_PATHS = {"", "prod.html?idp_=1", "cart.html"};
+
+    // Per-run lock and socket files; a copy of them would make the clone look in use
+    private static final Set<String> LOCK_FILES = new HashSet<>(Arrays.asList(
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "lock", ".parentlock", "parent.lock"));
+
+    private static final Map<String, ProfileTemplate> templates = new ConcurrentHashMap<>();
+    // Registrations held by this JVM; opening them to probe the lock would release it
+    private static final Set<Path> ownRegistrations = ConcurrentHashMap.newKeySet();
+
+    private final String browserName;
+    private final Path templateDir;
+
+    // Marks a clone of a version in progress until closed
+    private static final class Registration implements AutoCloseable {
+        private final Path file;
+        private final FileChannel channel;
+
+        Registration(Path file, FileChannel channel) {
+            this.file = file;
+            this.channel = channel;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                Files.deleteIfExists(file);
+            } finally {
+                ownRegistrations.remove(file);
+                channel.close();
+            }
+        }
+    }
+
+    private ProfileTemplate(String browserName, Path templateDir) {
+        this.browserName = browserName;
+        this.templateDir = templateDir;
+    }
+
+    public static ProfileTemplate forBrowser(String browserName) {
+        ConfigReader config = ConfigReader.getInstance();
+        String browser = browserName.toLowerCase();
+        return templates.computeIfAbsent(browser,
+                name -> new ProfileTemplate(name, Paths.get(config.getProfileTemplateDir(), name + "-template")));
+    }
+
+    /**
+     * Create a profile directory for a new session, seeding the template first if needed
+     * @param launcher starts a local browser on the given profile directory
+     * @return private profile directory for the session; delete it with {@link #discard(Path)}
+     */
+    public Path newSession(Function<Path, WebDriver> launcher) {
+        while (true) {
+            Path version;
+            synchronized (this) {
+                version = currentVersion();
+                if (version == null || !isFresh(version)) {
+                    version = seed(launcher);
+                    retireOldVersions(version);
+                }
+            }
+            try (Registration ignored = register(version)) {
+                // Retired after we read the pointer; clone the version that replaced it
+                if (!Files.exists(version.resolve(SEEDED_MARKER))) {
+                    continue;
+                }
+                Path clone = Files.createTempDirectory("dmz-" + browserName + "-profile-");
+                copy(version, clone);
+                return clone;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not clone profile template " + version, e);
+            }
+        }
+    }
+
+    /**
+     * Delete a session profile created by {@link #newSession}
+     * @param profileDir session profile directory
+     */
+    public static void discard(Path profileDir) {
+        try {
+            deleteRecursively(profileDir);
+        } catch (IOException e) {
+            logger.warn("Could not delete session profile {}: {}", profileDir, e.getMessage());
+        }
+    }
+
+    // Version the pointer names, or null if there is none or it has been retired
+    private Path currentVersion() {
+        try {
+            Path pointer = templateDir.resolve(CURRENT_POINTER);
+            if (!Files.exists(pointer)) {
+                return null;
+            }
+            Path version = templateDir.resolve(new String(Files.readAllBytes(pointer), StandardCharsets.UTF_8).trim());
+            return Files.exists(version.resolve(SEEDED_MARKER)) ? version : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isFresh(Path version) {
+        Path marker = version.resolve(SEEDED_MARKER);
+        try {
+            Instant seededAt = Files.getLastModifiedTime(marker).toInstant();
+            long maxAgeHours = ConfigReader.getInstance().getProfileTemplateMaxAgeHours();
+            return seededAt.plus(Duration.ofHours(maxAgeHours)).isAfter(Instant.now());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path seed(Function<Path, WebDriver> launcher) {
+        String baseUrl = ConfigReader.getInstance().getBaseUrl();
+        logger.info("Seeding {} profile template at {} from {}", browserName, templateDir, baseUrl);
+
+        Path seedDir;
+        try {
+            Files.createDirectories(templateDir);
+            seedDir = Files.createTempDirectory(templateDir, browserName + "-seed-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create profile seed directory", e);
+        }
+
+        WebDriver driver = launcher.apply(seedDir);
+        try {
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+            for (String path : WARM_UP_PATHS) {
+                driver.get(CassetteProxy.resolve(baseUrl + path));
+                wait.until(PageSync.networkIdle());
+            }
+            // Keep only the caches: the visit left an anonymous cart cookie that every clone would share
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        } finally {
+            // Quitting flushes the caches to disk
+            driver.quit();
+        }
+
+        try {
+            removeLockFiles(seedDir);
+            Files.write(seedDir.resolve(SEEDED_MARKER), Instant.now().toString().getBytes());
+            // Another JVM may seed at the same time, so the name includes the process
+            Path version = templateDir.resolve(VERSION_PREFIX + System.currentTimeMillis()
+                    + "-" + ProcessHandle.current().pid());
+            Files.move(seedDir, version, StandardCopyOption.ATOMIC_MOVE);
+
+            Path pointer = Files.createTempFile(templateDir, CURRENT_POINTER, ".tmp");
+            Files.write(pointer, version.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(pointer, templateDir.resolve(CURRENT_POINTER),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Profile template for {} seeded as {}", browserName, version.getFileName());
+            return version;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store profile template " + templateDir, e);
+        }
+    }
+
+    private Registration register(Path version) throws IOException {
+        Path clones = templateDir.resolve(CLONES_DIR);
+        Files.createDirectories(clones);
+        Path file = clones.resolve(version.getFileName() + "-" + UUID.randomUUID() + ".lock");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ownRegistrations.add(file);
+        return new Registration(file, channel);
+    }
+
+    /**
+     * Retire every version other than the given one and the current one, and delete those
+     * nobody is cloning. A retired version with clones in progress is deleted by a later
+     * seeding.
+     */
+    private void retireOldVersions(Path keep) {
+        Path current = currentVersion();
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(templateDir, VERSION_PREFIX + "*")) {
+            for (Path version : versions) {
+                if (version.equals(keep) || version.equals(current) || !Files.isDirectory(version)) {
+                    continue;
+                }
+                // Retire first: a clone registered after this sees no marker and moves on
+                Path marker = version.resolve(SEEDED_MARKER);
+                if (Files.exists(marker)) {
+                    Files.move(marker, version.resolve(RETIRED_MARKER), StandardCopyOption.ATOMIC_MOVE);
+                }
+                if (isCloning(version)) {
+                    logger.debug("Profile template {} still being cloned; deleting it later", version.getFileName());
+                    continue;
+                }
+                deleteRecursively(version);
+                logger.info("Deleted old profile template {}", version.getFileName());
+            }
+        } catch (IOException e) {
+            logger.warn("Could not remove old profile templates of {}: {}", browserName, e.getMessage());
+        }
+    }
+
+    // True while a live registration for the version exists; those of dead JVMs are removed
+    private boolean isCloning(Path version) throws IOException {
+        Path clones = templateDir.resolve(CLONES_DIR);
+        if (!Files.isDirectory(clones)) {
+            return false;
+        }
+        boolean cloning = false;
+        try (DirectoryStream<Path> registrations = Files.newDirectoryStream(clones, version.getFileName() + "-*.lock")) {
+            for (Path registration : registrations) {
+                if (ownRegistrations.contains(registration)) {
+                    cloning = true;
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(registration, StandardOpenOption.WRITE)) {
+                    FileLock lock = channel.tryLock();
+                    if (lock == null) {
+                        cloning = true;
+                        continue;
+                    }
+                    lock.release();
+                }
+                Files.deleteIfExists(registration);
+            }
+        }
+        return cloning;
+    }
+
+    /**
+     * Copy-on-write clone through cp where available, plain file copy otherwise. Hardlinks are
+     * not used: the browsers rewrite cache index and database files in place, which would
+     * modify the template.
+     */
+    private static void copy(Path source, Path target) throws IOException {
+        if (cloneWithCp(source, target)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    Files.createDirectories(destination);
+                } else if (!LOCK_FILES.contains(path.getFileName().toString())) {
+                    Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                }
+            }
+        }
+    }
+
+    private static boolean cloneWithCp(Path source, Path target) {
+        String os = System.getProperty("os.name", "").toLowerCase();
+        ProcessBuilder builder;
+        if (os.contains("linux")) {
+            builder = new ProcessBuilder("cp", "-a", "--reflink=auto", source + "/.", target.toString());
+        } else if (os.contains("mac")) {
+            // APFS clonefile
+            builder = new ProcessBuilder("cp", "-c", "-R", source + "/.", target.toString());
+        } else {
+            return false;
+        }
+
+        try {
+            Process process = builder.redirectErrorStream(true).start();
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                return true;
+            }
+            process.destroyForcibly();
+            logger.debug("cp clone of {} failed, falling back to file copy", source);
+        } catch (IOException e) {
+            logger.debug("cp not available, falling back to file copy: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Start over from an empty directory
+        try {
+            deleteRecursively(target);
+            Files.createDirectories(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return false;
+    }
+
+    private static void removeLockFiles(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (LOCK_FILES.contains(path.getFileName().toString())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exc) throws IOException {
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
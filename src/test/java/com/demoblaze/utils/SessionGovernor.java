@@ -0,0 +1,167 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for local browser sessions. Before {@link DriverManager} starts a
+ * browser, the worker asks for a slot; it is admitted only while the memory projected
+ * for all sessions, including the new one, fits governor.memory.budget.mb and the
+ * system keeps governor.reserve.mb available. Otherwise it waits until sessions close
+ * or memory frees up. Session memory is measured from the processes tracked by
+ * {@link BrowserReaper}; the expected size of a new session is the largest measured so
+ * far, or governor.session.estimate.mb before the first measurement. One session is
+ * always admitted, so a small machine runs serially instead of stalling.
+ */
+public final class SessionGovernor {
+    private static final Logger logger = LogManager.getLogger(SessionGovernor.class);
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+    private static final long POLL_MILLIS = 1000;
+    private static SessionGovernor instance;
+
+    private final Set<Thread> active = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+    private final long budgetKb;
+    private final long reserveKb;
+    private final long timeoutMillis;
+    private long estimateKb;
+    private long peakKb;
+    private int pending;
+
+    private SessionGovernor(ConfigReader config) {
+        enabled = config.isGovernorEnabled() && Files.isReadable(MEMINFO);
+        budgetKb = config.getGovernorMemoryBudgetMb() * 1024L;
+        reserveKb = config.getGovernorReserveMb() * 1024L;
+        estimateKb = config.getGovernorSessionEstimateMb() * 1024L;
+        timeoutMillis = TimeUnit.SECONDS.toMillis(config.getGovernorAdmitTimeoutSeconds());
+        if (config.isGovernorEnabled() && !enabled) {
+            logger.info("No /proc/meminfo on this system; browser sessions are not memory governed");
+        }
+    }
+
+    public static synchronized SessionGovernor getInstance() {
+        if (instance == null) {
+            instance = new SessionGovernor(ConfigReader.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Wait until a new session fits in memory, then reserve room for it. Must be followed
+     * by {@link #started(boolean)} once the browser is up or failed to start.
+     * @throws IllegalStateException if no room frees up within governor.admit.timeout.seconds
+     */
+    public synchronized void admit() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        String reason;
+        boolean waited = false;
+        while ((reason = refusal()) != null) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                throw new IllegalStateException("No memory for another browser session after "
+                        + TimeUnit.MILLISECONDS.toSeconds(timeoutMillis) + "s: " + reason);
+            }
+            if (!waited) {
+                logger.info("Browser session on {} queued: {}", Thread.currentThread().getName(), reason);
+                waited = true;
+            }
+            try {
+                // Memory also frees up outside this JVM, so re-check periodically
+                wait(Math.min(remaining, POLL_MILLIS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for memory for a browser session", e);
+            }
+        }
+        pending++;
+        Metrics.GOVERNOR_WAITS.observeSince(start);
+        if (waited) {
+            logger.info("Browser session on {} admitted after {} ms", Thread.currentThread().getName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Turn the reservation of the current thread into a running session, or drop it
+     * @param success true if the browser started
+     */
+    public synchronized void started(boolean success) {
+        if (!enabled) {
+            return;
+        }
+        pending = Math.max(0, pending - 1);
+        if (success) {
+            active.add(Thread.currentThread());
+        }
+        notifyAll();
+    }
+
+    /**
+     * Free the slot of the current thread's session after it quit
+     */
+    public synchronized void closed() {
+        if (enabled && active.remove(Thread.currentThread())) {
+            notifyAll();
+        }
+    }
+
+    // Reason the next session does not fit, or null if it does
+    private String refusal() {
+        // Sessions of ended threads were quit or reaped
+        active.removeIf(thread -> !thread.isAlive());
+        if (active.isEmpty() && pending == 0) {
+            return null;
+        }
+
+        List<Long> measured = BrowserReaper.getInstance().sessionMemoryKb();
+        long usedKb = 0;
+        for (long sessionKb : measured) {
+            usedKb += sessionKb;
+            peakKb = Math.max(peakKb, sessionKb);
+        }
+        if (peakKb > 0) {
+            estimateKb = peakKb;
+        }
+        // Sessions that are starting, or not measured, count at the estimate
+        int unmeasured = Math.max(0, active.size() - measured.size()) + pending;
+        long projectedKb = usedKb + (unmeasured + 1) * estimateKb;
+        if (budgetKb > 0 && projectedKb > budgetKb) {
+            return String.format("%d sessions would need %d MB of the %d MB budget",
+                    active.size() + pending + 1, projectedKb / 1024, budgetKb / 1024);
+        }
+
+        long availableKb = availableKb();
+        long afterKb = availableKb - (pending + 1) * estimateKb;
+        if (availableKb >= 0 && afterKb < reserveKb) {
+            return String.format("%d MB available, a session needs about %d MB and %d MB are kept free",
+                    availableKb / 1024, estimateKb / 1024, reserveKb / 1024);
+        }
+        return null;
+    }
+
+    private static long availableKb() {
+        try {
+            for (String line : Files.readAllLines(MEMINFO)) {
+                if (line.startsWith("MemAvailable:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not read {}: {}", MEMINFO, e.getMessage());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,240 @@
+package com.demoblaze.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory flight recorder for one driver session: recent WebDriver commands, page
+ * waits, network responses and low-rate screencast frames (Chromium CDP
+ * Page.startScreencast). Events and frames live in two ring buffers with fixed byte
+ * budgets, so the oldest entries are dropped as new ones arrive; nothing touches disk
+ * unless {@link #flush(String)} is called for a failed test.
+ */
+public class SessionTrace {
+    private static final Logger logger = LogManager.getLogger(SessionTrace.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ThreadLocal<SessionTrace> current = new ThreadLocal<>();
+    private static final SessionTrace DISABLED = new SessionTrace(0, 0, 0);
+
+    // CDP responses must not be awaited on the thread that delivers events
+    private static final ExecutorService frameAcks = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screencast-ack");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Ring events;
+    private final Ring frames;
+    private final long frameIntervalNanos;
+    private long lastFrameAt;
+    private DevTools devTools;
+
+    private SessionTrace(long eventBudget, long frameBudget, long frameIntervalMillis) {
+        this.events = new Ring(eventBudget);
+        this.frames = new Ring(frameBudget);
+        this.frameIntervalNanos = TimeUnit.MILLISECONDS.toNanos(frameIntervalMillis);
+    }
+
+    /**
+     * Start recording a newly created session on the current thread
+     * @param driver undecorated driver, used for the screencast
+     * @return trace of the session, or a no-op trace when tracing is disabled
+     */
+    public static SessionTrace attach(WebDriver driver) {
+        ConfigReader config = ConfigReader.getInstance();
+        if (!config.isTraceEnabled()) {
+            return DISABLED;
+        }
+        SessionTrace trace = new SessionTrace(
+                config.getTraceBufferKb() * 1024L,
+                config.getTraceFramesKb() * 1024L,
+                config.getTraceScreencastIntervalMillis());
+        if (config.isTraceScreencastEnabled()) {
+            trace.startScreencast(driver);
+        }
+        current.set(trace);
+        return trace;
+    }
+
+    /**
+     * Get the trace of the current thread's session
+     * @return trace, or a no-op trace when the thread has no traced session
+     */
+    public static SessionTrace current() {
+        SessionTrace trace = current.get();
+        return trace != null ? trace : DISABLED;
+    }
+
+    /**
+     * Stop recording the current thread's session before its driver quits
+     */
+    public static void detach() {
+        SessionTrace trace = current.get();
+        current.remove();
+        if (trace != null) {
+            trace.stopScreencast();
+        }
+    }
+
+    /**
+     * Append an event
+     * @param kind event kind, e.g. command, wait, network, test
+     * @param detail short description
+     */
+    public void record(String kind, String detail) {
+        if (this != DISABLED) {
+            events.add(new Entry(System.currentTimeMillis(), kind, detail));
+        }
+    }
+
+    /**
+     * Write the buffered events and frames as gzipped JSON lines to the artifact store
+     * @param testName fully qualified name of the failed test
+     * @return blob path, or null if nothing was recorded
+     * @throws IOException if the blob cannot be written
+     */
+    public Path flush(String testName) throws IOException {
+        List<Entry> entries = new ArrayList<>(events.snapshot());
+        entries.addAll(frames.snapshot());
+        if (entries.isEmpty()) {
+            return null;
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.time));
+
+        StringBuilder out = new StringBuilder();
+        for (Entry entry : entries) {
+            ObjectNode line = mapper.createObjectNode();
+            line.put("time", Instant.ofEpochMilli(entry.time).toString());
+            line.put("kind", entry.kind);
+            line.put("frame".equals(entry.kind) ? "jpeg" : "detail", entry.detail);
+            out.append(mapper.writeValueAsString(line)).append('\n');
+        }
+
+        ArtifactStore store = ArtifactStore.getInstance();
+        Path blob = store.put(out.toString().getBytes(StandardCharsets.UTF_8), "jsonl", true);
+        store.index(testName, "FAILURE", "trace", blob);
+        return blob;
+    }
+
+    private void startScreencast(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            DevTools tools = devTools;
+            devTools.addListener(new Event<>("Page.screencastFrame", input -> input.<Map<String, Object>>read(Json.MAP_TYPE)),
+                    frame -> {
+                        onFrame((String) frame.get("data"));
+                        Map<String, Object> ack = new HashMap<>();
+                        ack.put("sessionId", frame.get("sessionId"));
+                        frameAcks.execute(() -> sendQuietly(tools, "Page.screencastFrameAck", ack));
+                    });
+
+            Map<String, Object> params = new HashMap<>();
+            params.put("format", "jpeg");
+            params.put("quality", 40);
+            params.put("maxWidth", 640);
+            params.put("maxHeight", 400);
+            devTools.send(new Command<Void>("Page.startScreencast", params));
+            logger.debug("Screencast recording started");
+        } catch (RuntimeException e) {
+            logger.info("Screencast not available for this session: {}", e.getMessage());
+            devTools = null;
+        }
+    }
+
+    private synchronized void onFrame(String jpegBase64) {
+        long now = System.nanoTime();
+        // Chrome sends a frame per repaint; keep at most one per interval
+        if (lastFrameAt != 0 && now - lastFrameAt < frameIntervalNanos) {
+            return;
+        }
+        lastFrameAt = now;
+        frames.add(new Entry(System.currentTimeMillis(), "frame", jpegBase64));
+    }
+
+    private void stopScreencast() {
+        if (devTools == null) {
+            return;
+        }
+        sendQuietly(devTools, "Page.stopScreencast", Collections.emptyMap());
+        devTools.clearListeners();
+        devTools = null;
+    }
+
+    private static void sendQuietly(DevTools tools, String method, Map<String, Object> params) {
+        try {
+            tools.send(new Command<Void>(method, params));
+        } catch (RuntimeException e) {
+            logger.debug("{} failed: {}", method, e.getMessage());
+        }
+    }
+
+    private static final class Entry {
+        final long time;
+        final String kind;
+        final String detail;
+        final long bytes;
+
+        Entry(long time, String kind, String detail) {
+            this.time = time;
+            this.kind = kind;
+            this.detail = detail;
+            // Object headers and fields plus UTF-16 characters, roughly
+            this.bytes = 64 + 2L * (kind.length() + detail.length());
+        }
+    }
+
+    /**
+     * Entries in arrival order; the oldest are evicted while the budget is exceeded
+     */
+    private static final class Ring {
+        private final long budget;
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private long bytes;
+
+        Ring(long budget) {
+            this.budget = budget;
+        }
+
+        synchronized void add(Entry entry) {
+            if (entry.bytes > budget) {
+                return;
+            }
+            entries.addLast(entry);
+            bytes += entry.bytes;
+            while (bytes > budget) {
+                bytes -= entries.removeFirst().bytes;
+            }
+        }
+
+        synchronized List<Entry> snapshot() {
+            return new ArrayList<>(entries);
+        }
+    }
+}
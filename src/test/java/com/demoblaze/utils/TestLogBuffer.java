@@ -0,0 +1,141 @@
+package com.demoblaze.utils;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log4j2 appender that keeps the most recent events of each thread in memory instead of
+ * writing them. Events logged since the previous test finished are dumped to the
+ * artifact store when a test fails ({@link #dump}) and dropped when it passes
+ * ({@link #discard}); see log4j2-buffered.xml, where the file appenders only take WARN
+ * and above. Each thread keeps at most <code>size</code> events, oldest dropped first.
+ */
+@Plugin(name = "TestLogBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class TestLogBuffer extends AbstractAppender {
+    private static volatile TestLogBuffer active;
+
+    private final ThreadLocal<Ring> rings;
+
+    private static final class Ring {
+        final LogEvent[] events;
+        int next;
+        int count;
+
+        Ring(int size) {
+            events = new LogEvent[size];
+        }
+
+        void add(LogEvent event) {
+            events[next] = event;
+            next = (next + 1) % events.length;
+            count = Math.min(count + 1, events.length);
+        }
+
+        void clear() {
+            Arrays.fill(events, null);
+            next = 0;
+            count = 0;
+        }
+    }
+
+    private TestLogBuffer(String name, Filter filter, Layout<? extends Serializable> layout, int size) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.rings = ThreadLocal.withInitial(() -> new Ring(size));
+    }
+
+    @PluginFactory
+    public static TestLogBuffer createAppender(
+            @PluginAttribute("name") String name,
+            @PluginAttribute(value = "size", defaultInt = 2000) int size,
+            @PluginElement("Layout") Layout<? extends Serializable> layout,
+            @PluginElement("Filter") Filter filter) {
+        if (layout == null) {
+            layout = PatternLayout.createDefaultLayout();
+        }
+        return new TestLogBuffer(name == null ? "TestLogBuffer" : name, filter, layout, Math.max(1, size));
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        if (active == this) {
+            active = null;
+        }
+        return super.stop(timeout, timeUnit);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        // Mutable events are reused by the logging thread; keep a snapshot
+        rings.get().add(event.toImmutable());
+    }
+
+    /**
+     * @return true if the buffering configuration is in use
+     */
+    public static boolean isActive() {
+        return active != null;
+    }
+
+    /**
+     * Drop the events buffered on the current thread
+     */
+    public static void discard() {
+        TestLogBuffer buffer = active;
+        if (buffer != null) {
+            buffer.rings.get().clear();
+        }
+    }
+
+    /**
+     * Write the events buffered on the current thread to the artifact store and clear them
+     * @param testName fully qualified test name the log is indexed under
+     * @param status result status, e.g. FAILURE
+     * @return blob path, or null if nothing was buffered or buffering is not configured
+     * @throws IOException if the blob cannot be written
+     */
+    public static Path dump(String testName, String status) throws IOException {
+        TestLogBuffer buffer = active;
+        if (buffer == null) {
+            return null;
+        }
+        Ring ring = buffer.rings.get();
+        if (ring.count == 0) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int first = (ring.next - ring.count + ring.events.length) % ring.events.length;
+        for (int i = 0; i < ring.count; i++) {
+            out.write(buffer.getLayout().toByteArray(ring.events[(first + i) % ring.events.length]));
+        }
+        ring.clear();
+
+        ArtifactStore store = ArtifactStore.getInstance();
+        Path blob = store.put(out.toByteArray(), "log", true);
+        store.index(testName, status, "log", blob);
+        return blob;
+    }
+}
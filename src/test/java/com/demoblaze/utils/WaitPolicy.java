@@ -0,0 +1,217 @@
+package com.demoblaze.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wait timeouts per named action (e.g. "login.alert", "cart.load"), learned from the
+ * latencies of earlier runs. An action's timeout is its p99.9 latency times a safety
+ * factor, kept between wait.policy.min.timeout.ms and the configured timeout; actions
+ * with too few samples get the configured timeout. Polling is tuned to a quarter of the
+ * median latency so fast actions are not checked only every 500 ms.
+ * Latencies of this run are merged into the history file when the JVM exits.
+ */
+public final class WaitPolicy {
+    private static final Logger logger = LogManager.getLogger(WaitPolicy.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final Duration MIN_POLL = Duration.ofMillis(25);
+    private static final Duration MAX_POLL = Duration.ofMillis(500);
+    private static WaitPolicy instance;
+
+    private final boolean enabled;
+    private final Path file;
+    private final double quantile;
+    private final double safetyFactor;
+    private final int minSamples;
+    private final int maxSamples;
+    private final Duration floor;
+    private final Duration cap;
+
+    private final Map<String, long[]> history;
+    private final Map<String, Timing> timings = new ConcurrentHashMap<>();
+    private final Map<String, Samples> observed = new ConcurrentHashMap<>();
+
+    /**
+     * Timeout and polling interval for one action
+     */
+    public static final class Timing {
+        private final Duration timeout;
+        private final Duration poll;
+
+        Timing(Duration timeout, Duration poll) {
+            this.timeout = timeout;
+            this.poll = poll;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public Duration getPoll() {
+            return poll;
+        }
+    }
+
+    private WaitPolicy(ConfigReader config) {
+        enabled = config.isWaitPolicyEnabled();
+        file = Paths.get(config.getWaitPolicyHistoryFile());
+        quantile = config.getWaitPolicyPercentile() / 100.0;
+        safetyFactor = config.getWaitPolicySafetyFactor();
+        minSamples = config.getWaitPolicyMinSamples();
+        maxSamples = Math.max(1, config.getWaitPolicyMaxSamples());
+        cap = Duration.ofSeconds(config.getTimeout());
+        floor = Duration.ofMillis(Math.min(config.getWaitPolicyMinTimeoutMillis(), cap.toMillis()));
+        history = enabled ? load(file) : Collections.emptyMap();
+    }
+
+    public static synchronized WaitPolicy getInstance() {
+        if (instance == null) {
+            instance = new WaitPolicy(ConfigReader.getInstance());
+            if (instance.enabled) {
+                Runtime.getRuntime().addShutdownHook(new Thread(instance::save, "wait-policy-save"));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the timeout and polling interval for an action
+     * @param action action name, "page.what" by convention
+     * @return timing learned from history, or the configured timeout with 500 ms polling
+     */
+    public Timing timingFor(String action) {
+        return timings.computeIfAbsent(action, this::compute);
+    }
+
+    private Timing compute(String action) {
+        long[] samples = history.get(action);
+        if (!enabled || samples == null || samples.length < minSamples) {
+            return new Timing(cap, MAX_POLL);
+        }
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        long tailMillis = quantile(sorted, quantile);
+        Duration timeout = clamp(Duration.ofMillis((long) Math.ceil(tailMillis * safetyFactor)), floor, cap);
+        Duration poll = clamp(Duration.ofMillis(quantile(sorted, 0.5) / 4), MIN_POLL, MAX_POLL);
+
+        logger.debug("Wait '{}': p{} {} ms over {} samples, timeout {} ms, poll {} ms",
+                action, quantile * 100, tailMillis, sorted.length, timeout.toMillis(), poll.toMillis());
+        return new Timing(timeout, poll);
+    }
+
+    /**
+     * Record how long a wait for an action took. Timed-out waits are recorded at their
+     * timeout, so an environment that got slower raises the learned timeout (up to the cap)
+     * @param action action name
+     * @param nanos wait duration
+     */
+    public void record(String action, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        observed.computeIfAbsent(action, key -> new Samples(maxSamples))
+                .add(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    /**
+     * Merge this run's latencies into the history file, keeping the newest samples per action
+     */
+    public synchronized void save() {
+        if (observed.isEmpty()) {
+            return;
+        }
+        Map<String, long[]> merged = new TreeMap<>(history);
+        for (Map.Entry<String, Samples> entry : observed.entrySet()) {
+            long[] previous = merged.getOrDefault(entry.getKey(), new long[0]);
+            long[] current = entry.getValue().toArray();
+            long[] combined = Arrays.copyOf(previous, previous.length + current.length);
+            System.arraycopy(current, 0, combined, previous.length, current.length);
+            int keep = Math.min(combined.length, maxSamples);
+            merged.put(entry.getKey(), Arrays.copyOfRange(combined, combined.length - keep, combined.length));
+        }
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            mapper.writeValue(temp.toFile(), merged);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wait latencies for {} actions saved to {}", merged.size(), file);
+        } catch (IOException e) {
+            logger.warn("Could not save wait latencies to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, long[]> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            logger.info("No wait latency history at {}; using configured timeouts", file);
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, long[]> loaded = mapper.readValue(file.toFile(), new TypeReference<Map<String, long[]>>() {
+            });
+            logger.info("Loaded wait latency history for {} actions from {}", loaded.size(), file);
+            return loaded;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable wait latency history {}: {}", file, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private static long quantile(long[] sorted, double q) {
+        int index = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static Duration clamp(Duration value, Duration min, Duration max) {
+        if (value.compareTo(min) < 0) {
+            return min;
+        }
+        return value.compareTo(max) > 0 ? max : value;
+    }
+
+    /**
+     * Bounded buffer of this run's latencies for one action; the oldest are overwritten
+     */
+    private static final class Samples {
+        private final long[] values;
+        private int next;
+        private int size;
+
+        Samples(int capacity) {
+            values = new long[capacity];
+        }
+
+        synchronized void add(long millis) {
+            values[next] = millis;
+            next = (next + 1) % values.length;
+            size = Math.min(size + 1, values.length);
+        }
+
+        synchronized long[] toArray() {
+            long[] copy = new long[size];
+            int start = (next - size + values.length) % values.length;
+            for (int i = 0; i < size; i++) {
+                copy[i] = values[(start + i) % values.length];
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.demoblaze.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gateway to the page's localStorage or sessionStorage.
+ * Reads and writes of any number of keys take one executeScript call each. Keys and values
+ * travel as script arguments (never spliced into the script source) and are exchanged as
+ * JSON parsed with Jackson.
+ */
+public class WebStorage {
+    private static final Logger logger = LogManager.getLogger(WebStorage.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> STRING_MAP =
+            new TypeReference<LinkedHashMap<String, String>>() { };
+
+    private static final String READ_SCRIPT =
+            "var storage = window[arguments[0]];" +
+            "var values = {};" +
+            "JSON.parse(arguments[1]).forEach(function(key) { values[key] = storage.getItem(key); });" +
+            "return JSON.stringify(values);";
+
+    // A null value removes the key
+    private static final String WRITE_SCRIPT =
+            "var storage = window[arguments[0]];" +
+            "var writes = JSON.parse(arguments[1]);" +
+            "Object.keys(writes).forEach(function(key) {" +
+            "  if (writes[key] === null) { storage.removeItem(key); } else { storage.setItem(key, writes[key]); }" +
+            "});";
+
+    public enum Area {
+        LOCAL("localStorage"),
+        SESSION("sessionStorage");
+
+        private final String global;
+
+        Area(String global) {
+            this.global = global;
+        }
+    }
+
+    private final JavascriptExecutor jsExecutor;
+    private final Area area;
+
+    public WebStorage(WebDriver driver, Area area) {
+        this.jsExecutor = (JavascriptExecutor) driver;
+        this.area = area;
+    }
+
+    public static WebStorage local(WebDriver driver) {
+        return new WebStorage(driver, Area.LOCAL);
+    }
+
+    public static WebStorage session(WebDriver driver) {
+        return new WebStorage(driver, Area.SESSION);
+    }
+
+    /**
+     * Read several keys in one round-trip
+     * @param keys keys to read
+     * @return value per requested key, null for keys that are not set
+     */
+    public Map<String, String> read(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        String result = (String) jsExecutor.executeScript(READ_SCRIPT, area.global, toJson(keys));
+        logger.debug("Read {} keys from {}", keys.size(), area.global);
+        try {
+            return mapper.readValue(result, STRING_MAP);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected " + area.global + " read result: " + result, e);
+        }
+    }
+
+    /**
+     * Write and remove several keys in one round-trip
+     * @param values value per key; a null value removes the key
+     */
+    public void write(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        jsExecutor.executeScript(WRITE_SCRIPT, area.global, toJson(values));
+        logger.debug("Wrote {} keys to {}", values.size(), area.global);
+    }
+
+    /**
+     * Load a snapshot of the given keys with one read
+     * @param keys keys the snapshot can read; writes are not limited to them
+     * @return snapshot to modify locally and flush once
+     */
+    public Snapshot snapshot(String... keys) {
+        return new Snapshot(read(Arrays.asList(keys)));
+    }
+
+    /**
+     * Serialize a value for storage, the way the site's own scripts do with JSON.stringify
+     * @param value value to serialize
+     * @return JSON text
+     */
+    public static String toJson(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Value cannot be stored as JSON: " + value, e);
+        }
+    }
+
+    /**
+     * Parse a JSON object stored under a key
+     * @param json stored text, may be null
+     * @return parsed object, empty if nothing is stored
+     */
+    public static Map<String, String> parseObject(String json) {
+        if (json == null || json.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            return mapper.readValue(json, STRING_MAP);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored value is not a JSON object: " + json, e);
+        }
+    }
+
+    /**
+     * Local copy of some storage keys. Changes are tracked and written back by
+     * {@link #flush()} in a single call, so a read-modify-write costs two round-trips
+     * regardless of how many keys or fields change.
+     */
+    public class Snapshot {
+        private final Map<String, String> values;
+        private final Map<String, String> dirty = new LinkedHashMap<>();
+
+        private Snapshot(Map<String, String> values) {
+            this.values = values;
+        }
+
+        public String get(String key) {
+            if (!values.containsKey(key)) {
+                throw new IllegalArgumentException("Key was not loaded in this snapshot: " + key);
+            }
+            return values.get(key);
+        }
+
+        public Map<String, String> getObject(String key) {
+            return parseObject(get(key));
+        }
+
+        public void put(String key, String value) {
+            values.put(key, value);
+            dirty.put(key, value);
+        }
+
+        public void putObject(String key, Map<String, String> value) {
+            put(key, toJson(value));
+        }
+
+        public void remove(String key) {
+            put(key, null);
+        }
+
+        public boolean isDirty() {
+            return !dirty.isEmpty();
+        }
+
+        public Map<String, String> getValues() {
+            return Collections.unmodifiableMap(values);
+        }
+
+        /**
+         * Write all changed keys in one call; a clean snapshot costs nothing
+         */
+        public void flush() {
+            write(dirty);
+            dirty.clear();
+        }
+    }
+}